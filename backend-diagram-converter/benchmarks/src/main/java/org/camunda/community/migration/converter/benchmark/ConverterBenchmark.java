@@ -0,0 +1,90 @@
+package org.camunda.community.migration.converter.benchmark;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.xml.instance.DomDocument;
+import org.camunda.community.migration.converter.BpmnConverter;
+import org.camunda.community.migration.converter.BpmnConverterFactory;
+import org.camunda.community.migration.converter.ConverterProperties;
+import org.camunda.community.migration.converter.ConverterPropertiesFactory;
+import org.camunda.community.migration.converter.DefaultConverterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link BpmnConverter#check(String, BpmnModelInstance, ConverterProperties)} without
+ * appending elements, and the conversion as the CLI runs it: {@link
+ * BpmnConverter#convert(BpmnModelInstance, ConverterProperties)} followed by {@link
+ * BpmnConverter#printXml(DomDocument, boolean, Writer)}.
+ *
+ * <p>Both modify the model, so every invocation works on its own copy. The diagrams are parsed once
+ * per trial and cloned before each invocation. The clone is not part of the score, but its
+ * allocations are part of the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+  private final BpmnConverter converter = BpmnConverterFactory.getInstance().get();
+
+  @Benchmark
+  public void check(ConverterState converterState, ModelState modelState, Blackhole blackhole) {
+    for (BpmnModelInstance modelInstance : modelState.modelInstances) {
+      blackhole.consume(converter.check(null, modelInstance, converterState.checkOnlyProperties));
+    }
+  }
+
+  @Benchmark
+  public void convert(ConverterState converterState, ModelState modelState) {
+    for (BpmnModelInstance modelInstance : modelState.modelInstances) {
+      converter.convert(modelInstance, converterState.convertProperties);
+      converter.printXml(modelInstance.getDocument(), true, Writer.nullWriter());
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ConverterState {
+    ConverterProperties checkOnlyProperties;
+    ConverterProperties convertProperties;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      DefaultConverterProperties properties = new DefaultConverterProperties();
+      // no elements are appended, only the traversal and the conversions remain
+      properties.setAppendElements(false);
+      checkOnlyProperties = ConverterPropertiesFactory.getInstance().merge(properties);
+      convertProperties = ConverterPropertiesFactory.getInstance().get();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ModelState {
+    List<BpmnModelInstance> parsedModelInstances;
+    List<BpmnModelInstance> modelInstances;
+
+    @Setup(Level.Trial)
+    public void parse(DiagramState diagramState) {
+      parsedModelInstances = Diagrams.parse(diagramState.rawDiagrams);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+      modelInstances = parsedModelInstances.stream().map(BpmnModelInstance::clone).toList();
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package org.camunda.community.migration.converter.benchmark;
+
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class DiagramState {
+  @Param({Diagrams.EXAMPLES, "100", "1000", "10000", "50000"})
+  public String diagrams;
+
+  public List<byte[]> rawDiagrams;
+
+  @Setup(Level.Trial)
+  public void load() {
+    rawDiagrams = Diagrams.load(diagrams);
+  }
+}
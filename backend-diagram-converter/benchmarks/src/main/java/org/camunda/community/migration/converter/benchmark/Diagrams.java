@@ -0,0 +1,152 @@
+package org.camunda.community.migration.converter.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class Diagrams {
+  public static final String EXAMPLES = "examples";
+  private static final String EXAMPLE_MARKER = "variables-files/VariablesFile.bpmn";
+  private static final int ELEMENTS_PER_BLOCK = 7;
+
+  private Diagrams() {}
+
+  /**
+   * Loads the diagrams for a benchmark parameter
+   *
+   * @param diagrams either {@link #EXAMPLES} for the test example diagrams or the number of
+   *     elements of a synthetic diagram
+   * @return the raw diagrams
+   */
+  public static List<byte[]> load(String diagrams) {
+    if (EXAMPLES.equals(diagrams)) {
+      return exampleDiagrams();
+    }
+    return List.of(syntheticDiagram(Integer.parseInt(diagrams)));
+  }
+
+  public static List<BpmnModelInstance> parse(List<byte[]> diagrams) {
+    return diagrams.stream()
+        .map(diagram -> Bpmn.readModelFromStream(new ByteArrayInputStream(diagram)))
+        .toList();
+  }
+
+  public static List<byte[]> exampleDiagrams() {
+    URL marker = Diagrams.class.getClassLoader().getResource(EXAMPLE_MARKER);
+    if (marker == null) {
+      throw new IllegalStateException("Example diagrams are not on the classpath");
+    }
+    try {
+      URI uri = marker.toURI();
+      if ("jar".equals(uri.getScheme())) {
+        try (FileSystem fileSystem = FileSystems.newFileSystem(uri, Map.of())) {
+          return readDiagrams(fileSystem.getPath("/"));
+        }
+      }
+      return readDiagrams(Path.of(uri).getParent().getParent());
+    } catch (IOException | URISyntaxException e) {
+      throw new RuntimeException("Error while loading example diagrams", e);
+    }
+  }
+
+  private static List<byte[]> readDiagrams(Path root) throws IOException {
+    List<byte[]> diagrams = new ArrayList<>();
+    try (Stream<Path> files = Files.walk(root)) {
+      for (Path file : files.filter(f -> f.toString().endsWith(".bpmn")).sorted().toList()) {
+        diagrams.add(Files.readAllBytes(file));
+      }
+    }
+    return diagrams;
+  }
+
+  /**
+   * Creates a Camunda 7 diagram with roughly the given number of flow elements. The diagram is
+   * built from blocks of a service task, a user task and an exclusive gateway that use delegate
+   * expressions, listeners, input mappings and conditions.
+   *
+   * @param elements the number of flow elements
+   * @return the raw diagram
+   */
+  public static byte[] syntheticDiagram(int elements) {
+    int blocks = Math.max(1, elements / ELEMENTS_PER_BLOCK);
+    StringBuilder xml = new StringBuilder(blocks * 1500);
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+        .append("<bpmn:definitions xmlns:bpmn=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"")
+        .append(" xmlns:camunda=\"http://camunda.org/schema/1.0/bpmn\"")
+        .append(" id=\"Definitions_synthetic\" targetNamespace=\"http://bpmn.io/schema/bpmn\">")
+        .append("<bpmn:process id=\"synthetic\" isExecutable=\"true\">")
+        .append("<bpmn:startEvent id=\"start\" />")
+        .append(sequenceFlow("flow_start", "start", "service_0", null));
+    for (int i = 0; i < blocks; i++) {
+      String next = i + 1 < blocks ? "service_" + (i + 1) : "end";
+      xml.append("<bpmn:serviceTask id=\"service_")
+          .append(i)
+          .append("\" name=\"Service ")
+          .append(i)
+          .append("\" camunda:asyncBefore=\"true\" camunda:delegateExpression=\"${loanService}\">")
+          .append("<bpmn:extensionElements>")
+          .append("<camunda:inputOutput>")
+          .append("<camunda:inputParameter name=\"amount\">")
+          .append("${execution.getVariable(\"amount\")}")
+          .append("</camunda:inputParameter>")
+          .append("</camunda:inputOutput>")
+          .append("<camunda:executionListener class=\"org.example.Listener\" event=\"start\" />")
+          .append("</bpmn:extensionElements>")
+          .append("</bpmn:serviceTask>")
+          .append(sequenceFlow("flow_service_" + i, "service_" + i, "user_" + i, null))
+          .append("<bpmn:userTask id=\"user_")
+          .append(i)
+          .append("\" name=\"User ")
+          .append(i)
+          .append("\" camunda:assignee=\"${execution.getVariable(&quot;owner&quot;)}\"")
+          .append(" camunda:candidateGroups=\"${group}\" camunda:formKey=\"embedded:app:form\" />")
+          .append(sequenceFlow("flow_user_" + i, "user_" + i, "gateway_" + i, null))
+          .append("<bpmn:exclusiveGateway id=\"gateway_")
+          .append(i)
+          .append("\" />")
+          .append(sequenceFlow("flow_approved_" + i, "gateway_" + i, next, "${approved}"))
+          .append(
+              sequenceFlow(
+                  "flow_rejected_" + i,
+                  "gateway_" + i,
+                  next,
+                  "${!approved &amp;&amp; amount gt 5}"));
+    }
+    xml.append("<bpmn:endEvent id=\"end\" />")
+        .append("</bpmn:process>")
+        .append("</bpmn:definitions>");
+    return xml.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String sequenceFlow(String id, String source, String target, String condition) {
+    String flow =
+        "<bpmn:sequenceFlow id=\""
+            + id
+            + "\" sourceRef=\""
+            + source
+            + "\" targetRef=\""
+            + target
+            + "\"";
+    if (condition == null) {
+      return flow + " />";
+    }
+    return flow
+        + "><bpmn:conditionExpression xsi:type=\"bpmn:tFormalExpression\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+        + condition
+        + "</bpmn:conditionExpression></bpmn:sequenceFlow>";
+  }
+}
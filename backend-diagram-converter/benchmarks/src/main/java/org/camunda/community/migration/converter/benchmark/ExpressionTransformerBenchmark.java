@@ -0,0 +1,59 @@
+package org.camunda.community.migration.converter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.camunda.community.migration.converter.expression.ExpressionTransformationResult;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ExpressionTransformerBenchmark {
+  @Param({
+    "${approved}",
+    "${loanService}",
+    "${execution.getVariable(\"amount\")}",
+    "${!approved && amount gt 5 || empty list}",
+    "${customer[\"address\"].lines[0] == 'main street'}",
+    "Hello ${name}, your order ${order.id} is ready"
+  })
+  public String expression;
+
+  @Param({"true", "false"})
+  public boolean cached;
+
+  @Setup
+  public void setup() {
+    ExpressionTransformer.getCache().clear();
+    ExpressionTransformer.getCache()
+        .setMaxSize(cached ? ExpressionTransformer.DEFAULT_CACHE_SIZE : 0);
+  }
+
+  @Benchmark
+  public ExpressionTransformationResult transform() {
+    return ExpressionTransformer.transform(expression);
+  }
+
+  @Benchmark
+  public void transformAndAnalyse(Blackhole blackhole) {
+    ExpressionTransformationResult result = ExpressionTransformer.transform(expression);
+    blackhole.consume(result.getFeelExpression());
+    blackhole.consume(result.hasMethodInvocation());
+    blackhole.consume(result.hasExecutionOnly());
+    blackhole.consume(result.hasExecutionGetVariable());
+  }
+}
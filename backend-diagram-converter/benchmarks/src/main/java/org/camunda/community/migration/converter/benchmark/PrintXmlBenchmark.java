@@ -0,0 +1,51 @@
+package org.camunda.community.migration.converter.benchmark;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.community.migration.converter.BpmnConverter;
+import org.camunda.community.migration.converter.BpmnConverterFactory;
+import org.camunda.community.migration.converter.ConverterPropertiesFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class PrintXmlBenchmark {
+  private final BpmnConverter converter = BpmnConverterFactory.getInstance().get();
+
+  @Benchmark
+  public void printXml(ConvertedModelState state) {
+    for (BpmnModelInstance modelInstance : state.modelInstances) {
+      converter.printXml(modelInstance.getDocument(), true, Writer.nullWriter());
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ConvertedModelState {
+    List<BpmnModelInstance> modelInstances;
+
+    @Setup(Level.Trial)
+    public void convert(DiagramState diagramState) {
+      BpmnConverter converter = BpmnConverterFactory.getInstance().get();
+      modelInstances = Diagrams.parse(diagramState.rawDiagrams);
+      modelInstances.forEach(
+          modelInstance ->
+              converter.convert(modelInstance, ConverterPropertiesFactory.getInstance().get()));
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package org.camunda.community.migration.converter.benchmark;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.camunda.community.migration.converter.BpmnConverter;
+import org.camunda.community.migration.converter.BpmnConverterFactory;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult;
+import org.camunda.community.migration.converter.ConverterPropertiesFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+  private final BpmnConverter converter = BpmnConverterFactory.getInstance().get();
+
+  @Benchmark
+  public void writeCsv(ResultState state) {
+    converter.writeCsvFile(state.results, Writer.nullWriter());
+  }
+
+  @Benchmark
+  public void writeMarkdown(ResultState state) {
+    converter.writeMarkdownFile(state.results, Writer.nullWriter());
+  }
+
+  @State(Scope.Benchmark)
+  public static class ResultState {
+    List<BpmnDiagramCheckResult> results;
+
+    @Setup(Level.Trial)
+    public void check(DiagramState diagramState) {
+      BpmnConverter converter = BpmnConverterFactory.getInstance().get();
+      results =
+          Diagrams.parse(diagramState.rawDiagrams).stream()
+              .map(
+                  modelInstance ->
+                      converter.check(
+                          "diagram.bpmn",
+                          modelInstance,
+                          ConverterPropertiesFactory.getInstance().get()))
+              .toList();
+    }
+  }
+}
@@ -3,21 +3,31 @@ package org.camunda.community.migration.converter.cli;
 import static org.camunda.community.migration.converter.cli.ConvertCommand.*;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import org.apache.commons.io.FilenameUtils;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.community.migration.converter.BpmnConverter;
 import org.camunda.community.migration.converter.BpmnConverterFactory;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResultSink;
+import org.camunda.community.migration.converter.ConverterProperties;
 import org.camunda.community.migration.converter.ConverterPropertiesFactory;
 import org.camunda.community.migration.converter.DefaultConverterProperties;
+import org.camunda.community.migration.converter.cli.ModelSource.ParsedModel;
+import org.camunda.community.migration.converter.cli.ModelSource.ParsedModel.ModelInstance;
+import org.camunda.community.migration.converter.cli.ModelSource.ParsedModel.ParseFailure;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer;
 import picocli.CommandLine.Option;
 
 public abstract class AbstractConvertCommand implements Callable<Integer> {
@@ -65,6 +75,12 @@ public abstract class AbstractConvertCommand implements Callable<Integer> {
           "If enabled, a markdown file will be created containing the results for all conversions")
   boolean markdown;
 
+  @Option(
+      names = {"--binary"},
+      description =
+          "If enabled, a binary file will be created containing the results for all conversions")
+  boolean binary;
+
   @Option(
       names = {"--delegate-execution-as-job-type", "--delegate-expression-as-job-type"},
       description = "If enabled, sets the delegate expression as the job type")
@@ -87,79 +103,182 @@ public abstract class AbstractConvertCommand implements Callable<Integer> {
     converter = factory.get();
   }
 
+  @Option(
+      names = {"--parallelism"},
+      description = "Number of diagrams that are checked and converted in parallel",
+      defaultValue = "1")
+  int parallelism = 1;
+
+  @Option(
+      names = {"--expression-cache-size"},
+      description = "Number of transformed expressions that are cached, 0 disables the cache",
+      defaultValue = "" + ExpressionTransformer.DEFAULT_CACHE_SIZE)
+  int expressionCacheSize = ExpressionTransformer.DEFAULT_CACHE_SIZE;
+
   @Override
   public final Integer call() {
     returnCode = 0;
-    Map<File, BpmnModelInstance> modelInstances = modelInstances();
-    List<BpmnDiagramCheckResult> results = checkModels(modelInstances);
-    writeResults(modelInstances, results);
+    ExpressionTransformer.getCache().setMaxSize(expressionCacheSize);
+    List<ReportFile> reports = openReports();
+    try {
+      convertModels(result -> reports.forEach(report -> report.accept(result)));
+    } finally {
+      reports.forEach(ReportFile::close);
+    }
+    LOG_CLI.info("Expression cache: {}", ExpressionTransformer.getCache().getStatistics());
     return returnCode;
   }
 
-  private void writeResults(
-      Map<File, BpmnModelInstance> modelInstances, List<BpmnDiagramCheckResult> results) {
-    if (!check) {
-      for (Entry<File, BpmnModelInstance> modelInstance : modelInstances.entrySet()) {
-        File file = determineFileName(prefixFileName(modelInstance.getKey()));
-        if (!override && file.exists()) {
-          LOG_CLI.error("File does already exist: {}", file);
-          returnCode = 1;
-        }
-        LOG_CLI.info("Created {}", file);
-        try (FileWriter fw = new FileWriter(file)) {
-          converter.printXml(modelInstance.getValue().getDocument(), true, fw);
-          fw.flush();
-        } catch (IOException e) {
-          LOG_CLI.error("Error while creating BPMN file: {}", createMessage(e));
-          returnCode = 1;
-        }
-      }
-    }
+  private List<ReportFile> openReports() {
+    List<ReportFile> reports = new ArrayList<>();
     if (csv) {
-      File csvFile = determineFileName(new File(targetDirectory(), "conversion-results.csv"));
-      try (FileWriter fw = new FileWriter(csvFile)) {
-        converter.writeCsvFile(results, fw);
-        LOG_CLI.info("Created {}", csvFile);
-      } catch (IOException e) {
-        LOG_CLI.error("Error while creating csv results: {}", createMessage(e));
-        returnCode = 1;
-      }
+      openReport(
+          "csv",
+          "conversion-results.csv",
+          file -> converter.createCsvSink(new FileWriter(file)),
+          reports);
     }
     if (markdown) {
-      File markdownFile = determineFileName(new File(targetDirectory(), "conversion-results.md"));
-      try (FileWriter fw = new FileWriter(markdownFile)) {
-        converter.writeMarkdownFile(results, fw);
-        LOG_CLI.info("Created {}", markdownFile);
-      } catch (IOException e) {
-        LOG_CLI.error("Error while creating markdown results: {}", createMessage(e));
-        returnCode = 1;
-      }
+      openReport(
+          "markdown",
+          "conversion-results.md",
+          file -> converter.createMarkdownSink(new FileWriter(file)),
+          reports);
+    }
+    if (binary) {
+      openReport(
+          "binary",
+          "conversion-results.bin",
+          file -> converter.createBinarySink(new FileOutputStream(file)),
+          reports);
+    }
+    return reports;
+  }
+
+  private void openReport(
+      String type, String fileName, ReportSinkFactory sinkFactory, List<ReportFile> reports) {
+    File file = determineFileName(new File(targetDirectory(), fileName));
+    try {
+      reports.add(new ReportFile(type, file, sinkFactory.create(file)));
+    } catch (IOException | RuntimeException e) {
+      LOG_CLI.error("Error while creating {} results: {}", type, createMessage(e));
+      returnCode = 1;
     }
   }
 
   protected abstract File targetDirectory();
 
-  private List<BpmnDiagramCheckResult> checkModels(Map<File, BpmnModelInstance> modelInstances) {
-    return modelInstances.entrySet().stream()
-        .map(this::checkModel)
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
+  /**
+   * Converts all models and passes each result to the consumer as soon as it is available. Results
+   * are passed in the order of the model sources, so reports are deterministic.
+   */
+  private void convertModels(Consumer<BpmnDiagramCheckResult> resultConsumer) {
+    ConverterProperties properties =
+        ConverterPropertiesFactory.getInstance().merge(converterProperties());
+    Consumer<ModelConversion> conversionConsumer =
+        modelConversion -> {
+          if (modelConversion.failed()) {
+            returnCode = 1;
+          }
+          if (modelConversion.result() != null) {
+            resultConsumer.accept(modelConversion.result());
+          }
+        };
+    if (parallelism > 1) {
+      convertModelsInParallel(properties, conversionConsumer);
+    } else {
+      modelSources(modelSource -> conversionConsumer.accept(convertModel(modelSource, properties)));
+    }
   }
 
-  private BpmnDiagramCheckResult checkModel(Entry<File, BpmnModelInstance> modelInstance) {
+  private void convertModelsInParallel(
+      ConverterProperties properties, Consumer<ModelConversion> conversionConsumer) {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    // finished conversions wait here until all conversions of earlier sources are done
+    Deque<Future<ModelConversion>> futures = new ArrayDeque<>();
+    int maxPending = parallelism * 4;
+    try {
+      modelSources(
+          modelSource -> {
+            futures.add(executor.submit(() -> convertModel(modelSource, properties)));
+            while (!futures.isEmpty()
+                && (futures.size() > maxPending || futures.peekFirst().isDone())) {
+              conversionConsumer.accept(await(futures.pollFirst()));
+            }
+          });
+      while (!futures.isEmpty()) {
+        conversionConsumer.accept(await(futures.pollFirst()));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ModelConversion await(Future<ModelConversion> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while converting models", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error while converting models", e.getCause());
+    }
+  }
+
+  private ModelConversion convertModel(ModelSource modelSource, ConverterProperties properties) {
+    ParsedModel parsedModel = modelSource.parse();
+    if (parsedModel instanceof ParseFailure failure) {
+      LOG_CLI.error(
+          "Unable to parse file {}, reason is: {}",
+          failure.file().getAbsolutePath(),
+          createMessage(failure.exception()));
+      return new ModelConversion(null, false);
+    }
+    ModelInstance modelInstance = (ModelInstance) parsedModel;
+    BpmnDiagramCheckResult result = checkModel(modelInstance, properties);
+    boolean failed = result == null;
+    if (!check) {
+      failed |= !writeModel(modelInstance);
+    }
+    return new ModelConversion(result, failed);
+  }
+
+  private BpmnDiagramCheckResult checkModel(
+      ModelInstance modelInstance, ConverterProperties properties) {
     try {
       return converter.check(
-          modelInstance.getKey().getPath(),
-          modelInstance.getValue(),
-          ConverterPropertiesFactory.getInstance().merge(converterProperties()));
+          modelInstance.file().getPath(), modelInstance.modelInstance(), properties);
     } catch (Exception e) {
       LOG_CLI.error("Problem while converting: {}", createMessage(e));
-      returnCode = 1;
       return null;
     }
   }
 
-  protected abstract Map<File, BpmnModelInstance> modelInstances();
+  private boolean writeModel(ModelInstance modelInstance) {
+    boolean success = true;
+    File file = determineFileName(prefixFileName(modelInstance.file()));
+    if (!override && file.exists()) {
+      LOG_CLI.error("File does already exist: {}", file);
+      success = false;
+    }
+    LOG_CLI.info("Created {}", file);
+    try (FileWriter fw = new FileWriter(file)) {
+      converter.printXml(modelInstance.modelInstance().getDocument(), true, fw);
+      fw.flush();
+    } catch (Exception e) {
+      LOG_CLI.error("Error while creating BPMN file: {}", createMessage(e));
+      success = false;
+    }
+    return success;
+  }
+
+  /**
+   * Passes the sources of all diagrams to convert to the consumer. The diagrams are parsed once the
+   * consumer handles the source.
+   *
+   * @param consumer the consumer to handle the model sources
+   */
+  protected abstract void modelSources(Consumer<ModelSource> consumer);
 
   protected DefaultConverterProperties converterProperties() {
     DefaultConverterProperties properties = new DefaultConverterProperties();
@@ -202,4 +321,52 @@ public abstract class AbstractConvertCommand implements Callable<Integer> {
     }
     return message.toString();
   }
+
+  private interface ReportSinkFactory {
+    BpmnDiagramCheckResultSink create(File file) throws IOException;
+  }
+
+  private record ModelConversion(BpmnDiagramCheckResult result, boolean failed) {}
+
+  /** A report that is written while the models are converted. */
+  private class ReportFile {
+    private final String type;
+    private final File file;
+    private final BpmnDiagramCheckResultSink sink;
+    private boolean failed;
+
+    private ReportFile(String type, File file, BpmnDiagramCheckResultSink sink) {
+      this.type = type;
+      this.file = file;
+      this.sink = sink;
+    }
+
+    private void accept(BpmnDiagramCheckResult result) {
+      if (failed) {
+        return;
+      }
+      try {
+        sink.accept(result);
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+
+    private void close() {
+      try {
+        sink.close();
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+      if (!failed) {
+        LOG_CLI.info("Created {}", file);
+      }
+    }
+
+    private void fail(RuntimeException e) {
+      LOG_CLI.error("Error while creating {} results: {}", type, createMessage(e));
+      failed = true;
+      returnCode = 1;
+    }
+  }
 }
@@ -2,13 +2,12 @@ package org.camunda.community.migration.converter.cli;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.io.FilenameUtils;
 import org.camunda.bpm.model.bpmn.Bpmn;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
@@ -56,9 +55,8 @@ public class ConvertEngineCommand extends AbstractConvertCommand {
   }
 
   @Override
-  protected Map<File, BpmnModelInstance> modelInstances() {
+  protected void modelSources(Consumer<ModelSource> consumer) {
     Map<String, Map<String, Set<String>>> allLatestBpmnXml = getAllLatestBpmnXml();
-    Map<File, BpmnModelInstance> result = new HashMap<>();
     allLatestBpmnXml.forEach(
         (resourceName, models) ->
             models.forEach(
@@ -71,11 +69,13 @@ public class ConvertEngineCommand extends AbstractConvertCommand {
                               + String.join(", ", processDefinitionKeys)
                               + ")."
                               + FilenameUtils.getExtension(resourceName);
-                  result.put(
-                      new File(targetDirectory, filename),
-                      Bpmn.readModelFromStream(new ByteArrayInputStream(model.getBytes())));
+                  consumer.accept(
+                      new ModelSource(
+                          new File(targetDirectory, filename),
+                          () ->
+                              Bpmn.readModelFromStream(
+                                  new ByteArrayInputStream(model.getBytes()))));
                 }));
-    return result;
   }
 
   private Map<String, Map<String, Set<String>>> getAllLatestBpmnXml() {
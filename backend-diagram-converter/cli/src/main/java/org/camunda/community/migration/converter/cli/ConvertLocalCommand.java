@@ -10,14 +10,10 @@ import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.apache.commons.io.file.PathVisitor;
 import org.camunda.bpm.model.bpmn.Bpmn;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine.Command;
@@ -56,45 +52,27 @@ public class ConvertLocalCommand extends AbstractConvertCommand {
   }
 
   @Override
-  protected Map<File, BpmnModelInstance> modelInstances() {
+  protected void modelSources(Consumer<ModelSource> consumer) {
     if (!file.exists()) {
       LOG_CLI.error("File {} does not exist", file.getAbsolutePath());
       returnCode = 1;
-      return new HashMap<>();
+      return;
     }
-    Collection<File> files = new ArrayList<>();
     if (file.isDirectory()) {
-      files.addAll(findFiles(file));
+      // the walk is completed first, so converted files written meanwhile are not picked up
+      findFiles(file).forEach(f -> consumer.accept(modelSource(f)));
     } else {
       if (isBpmnFile(file)) {
-        files.add(file);
+        consumer.accept(modelSource(file));
       } else {
         LOG_CLI.error("The selected file is no bpmn file");
         throw new IllegalArgumentException("The selected file is no bpmn file");
       }
     }
-    return handleFiles(files);
   }
 
-  private Map<File, BpmnModelInstance> handleFiles(Collection<File> files) {
-    return files.stream()
-        .filter(this::canHandleFile)
-        .collect(Collectors.toMap(f -> f, this::handleFile));
-  }
-
-  private boolean canHandleFile(File file) {
-    try {
-      handleFile(file);
-      return true;
-    } catch (Exception e) {
-      LOG_CLI.error(
-          "Unable to parse file {}, reason is: {}", file.getAbsolutePath(), createMessage(e));
-      return false;
-    }
-  }
-
-  private BpmnModelInstance handleFile(File file) {
-    return Bpmn.readModelFromFile(file);
+  private ModelSource modelSource(File file) {
+    return new ModelSource(file, () -> Bpmn.readModelFromFile(file));
   }
 
   private boolean isBpmnFile(File file) {
@@ -0,0 +1,24 @@
+package org.camunda.community.migration.converter.cli;
+
+import java.io.File;
+import java.util.function.Supplier;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public record ModelSource(File file, Supplier<BpmnModelInstance> parser) {
+
+  public ParsedModel parse() {
+    try {
+      return new ParsedModel.ModelInstance(file, parser.get());
+    } catch (Exception e) {
+      return new ParsedModel.ParseFailure(file, e);
+    }
+  }
+
+  public sealed interface ParsedModel {
+    File file();
+
+    record ModelInstance(File file, BpmnModelInstance modelInstance) implements ParsedModel {}
+
+    record ParseFailure(File file, Exception exception) implements ParsedModel {}
+  }
+}
@@ -87,4 +87,38 @@ public class ConvertLocalCommandTest {
     assertEquals(0, call);
     assertThat(tempDir.listFiles()).hasSize(1).anyMatch(file -> file.getName().equals("c7.bpmn"));
   }
+
+  @Test
+  void shouldConvertInParallel(@TempDir File tempDir) throws IOException {
+    setupDir("c7.bpmn", tempDir);
+    setupDir("c7.bpmn20.xml", tempDir);
+    setupDir("multiple-processes.bpmn", tempDir);
+    ConvertLocalCommand command = new ConvertLocalCommand();
+    command.csv = true;
+    command.parallelism = 3;
+    command.file = tempDir;
+    Integer call = command.call();
+    assertEquals(0, call);
+    assertThat(tempDir.listFiles())
+        .hasSize(7)
+        .anyMatch(file -> file.getName().equals("converted-c8-c7.bpmn"))
+        .anyMatch(file -> file.getName().equals("converted-c8-c7.bpmn20.xml"))
+        .anyMatch(file -> file.getName().equals("converted-c8-multiple-processes.bpmn"));
+    assertThat(Files.readAllLines(new File(tempDir, "conversion-results.csv").toPath()))
+        .isNotEmpty();
+  }
+
+  @Test
+  void shouldSkipUnparsableFiles(@TempDir File tempDir) throws IOException {
+    setupDir("c7.bpmn", tempDir);
+    Files.writeString(new File(tempDir, "broken.bpmn").toPath(), "<definitions>");
+    ConvertLocalCommand command = new ConvertLocalCommand();
+    command.file = tempDir;
+    Integer call = command.call();
+    assertEquals(0, call);
+    assertThat(tempDir.listFiles())
+        .hasSize(3)
+        .anyMatch(file -> file.getName().equals("converted-c8-c7.bpmn"))
+        .noneMatch(file -> file.getName().equals("converted-c8-broken.bpmn"));
+  }
 }
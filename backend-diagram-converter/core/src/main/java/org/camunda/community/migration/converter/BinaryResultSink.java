@@ -0,0 +1,119 @@
+package org.camunda.community.migration.converter;
+
+import static org.camunda.community.migration.converter.BpmnDiagramCheckResultReader.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
+
+/**
+ * Writes the results in the binary format read by {@link BpmnDiagramCheckResultReader}. Message
+ * ids, texts, links and element types repeat across diagrams, they are written once and referenced
+ * by their index afterwards. File names, element ids and names are mostly unique and are written as
+ * literals, so that they do not fill the dictionary.
+ */
+class BinaryResultSink implements BpmnDiagramCheckResultSink {
+  private final DataOutputStream out;
+  private final Map<String, Integer> dictionary = new HashMap<>();
+
+  BinaryResultSink(OutputStream outputStream) {
+    out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing binary file", e);
+    }
+  }
+
+  @Override
+  public synchronized void accept(BpmnDiagramCheckResult result) {
+    try {
+      writeLiteral(result.getFilename());
+      writeString(result.getConverterVersion());
+      writeVarInt(result.getResults().size());
+      for (BpmnElementCheckResult elementCheckResult : result.getResults()) {
+        writeLiteral(elementCheckResult.getElementId());
+        writeLiteral(elementCheckResult.getElementName());
+        writeString(elementCheckResult.getElementType());
+        writeVarInt(elementCheckResult.getMessages().size());
+        for (BpmnElementCheckMessage message : elementCheckResult.getMessages()) {
+          out.writeByte(severityCode(message.getSeverity()));
+          writeString(message.getId());
+          writeString(message.getMessage());
+          writeString(message.getLink());
+        }
+        writeStrings(elementCheckResult.getReferences());
+        writeStrings(elementCheckResult.getReferencedBy());
+      }
+      out.flush();
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing binary file", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      out.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing binary file", e);
+    }
+  }
+
+  private void writeStrings(List<String> values) throws IOException {
+    writeVarInt(values.size());
+    for (String value : values) {
+      writeLiteral(value);
+    }
+  }
+
+  private void writeLiteral(String value) throws IOException {
+    if (value == null) {
+      writeVarInt(NULL);
+      return;
+    }
+    writeVarInt(LITERAL);
+    writeBytes(value);
+  }
+
+  private void writeString(String value) throws IOException {
+    if (value == null) {
+      writeVarInt(NULL);
+      return;
+    }
+    Integer index = dictionary.get(value);
+    if (index != null) {
+      writeVarInt(DICTIONARY_OFFSET + index);
+      return;
+    }
+    if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+      dictionary.put(value, dictionary.size());
+      writeVarInt(DICTIONARY_ENTRY);
+    } else {
+      writeVarInt(LITERAL);
+    }
+    writeBytes(value);
+  }
+
+  private void writeBytes(String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+}
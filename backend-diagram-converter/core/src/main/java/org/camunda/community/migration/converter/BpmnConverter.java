@@ -1,18 +1,17 @@
 package org.camunda.community.migration.converter;
 
-import com.opencsv.CSVWriterBuilder;
-import com.opencsv.ICSVWriter;
-import com.samskivert.mustache.Mustache;
-import com.samskivert.mustache.Template;
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -24,36 +23,34 @@ import org.camunda.bpm.model.bpmn.impl.BpmnParser;
 import org.camunda.bpm.model.xml.impl.util.ModelIoException;
 import org.camunda.bpm.model.xml.instance.DomDocument;
 import org.camunda.bpm.model.xml.instance.DomElement;
-import org.camunda.community.migration.converter.BpmnConverter.MustacheContext.MustacheResultContext;
-import org.camunda.community.migration.converter.BpmnConverter.MustacheContext.MustacheResultContext.MustacheElementResultContext;
-import org.camunda.community.migration.converter.BpmnConverter.MustacheContext.MustacheResultContext.MustacheElementResultContext.MustacheSeverityContext;
-import org.camunda.community.migration.converter.BpmnConverter.MustacheContext.MustacheResultContext.MustacheElementResultContext.MustacheSeverityContext.MustacheMessageContext;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
 import org.camunda.community.migration.converter.DomElementVisitorContext.DefaultDomElementVisitorContext;
 import org.camunda.community.migration.converter.conversion.Conversion;
 import org.camunda.community.migration.converter.visitor.AbstractProcessElementVisitor;
 import org.camunda.community.migration.converter.visitor.DomElementVisitor;
+import org.camunda.community.migration.converter.visitor.DomElementVisitorIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class BpmnConverter {
   private static final Logger LOG = LoggerFactory.getLogger(BpmnConverter.class);
-  private static final Template MARKDOWN_TEMPLATE;
+  private static final Templates PRETTY_PRINT_TEMPLATES;
 
   static {
     try (InputStream in =
-        BpmnConverter.class
-            .getClassLoader()
-            .getResourceAsStream("bpmn-diagram-check-result.mustache")) {
-      MARKDOWN_TEMPLATE = Mustache.compiler().compile(new String(in.readAllBytes()));
-    } catch (IOException e) {
-      throw new RuntimeException("Error while loading result printer template", e);
+        BpmnConverter.class.getClassLoader().getResourceAsStream("prettyprint.xsl")) {
+      PRETTY_PRINT_TEMPLATES =
+          TransformerFactory.newInstance()
+              .newTemplates(new StreamSource(new InputStreamReader(in)));
+    } catch (IOException | TransformerConfigurationException e) {
+      throw new RuntimeException("Error while loading xml printer template", e);
     }
   }
 
-  private final BpmnParser bpmnParser = new BpmnParser();
-  private final List<DomElementVisitor> visitors;
+  // the parser holds a document builder factory and schema per instance, keep one per thread
+  private final ThreadLocal<BpmnParser> bpmnParser = ThreadLocal.withInitial(BpmnParser::new);
+  private final DomElementVisitorIndex visitorIndex;
   private final List<Conversion> conversions;
   private final NotificationService notificationService;
 
@@ -61,7 +58,9 @@ public class BpmnConverter {
       List<DomElementVisitor> visitors,
       List<Conversion> conversions,
       NotificationService notificationService) {
-    this.visitors = visitors;
+    this.visitorIndex =
+        new DomElementVisitorIndex(
+            visitors.stream().sorted(Comparator.comparingInt(this::sortVisitor)).toList());
     this.conversions = conversions;
     this.notificationService = notificationService;
   }
@@ -131,51 +130,30 @@ public class BpmnConverter {
 
   private List<BpmnElementCheckMessage> getMessages(
       DomElement element, BpmnDiagramCheckResult result) {
-    return result.getResults().stream()
-        .filter(
-            elementCheckResult ->
-                elementCheckResult.getElementId().equals(element.getAttribute("id")))
-        .map(BpmnElementCheckResult::getMessages)
-        .findFirst()
-        .orElseGet(ArrayList::new);
+    return getMessages(element.getAttribute("id"), result);
   }
 
   private List<BpmnElementCheckMessage> getMessages(
       String elementId, BpmnDiagramCheckResult result) {
-    return result.getResults().stream()
-        .filter(elementCheckResult -> elementCheckResult.getElementId().equals(elementId))
-        .map(BpmnElementCheckResult::getMessages)
-        .findFirst()
-        .orElseGet(ArrayList::new);
+    BpmnElementCheckResult elementCheckResult = result.getResult(elementId);
+    return elementCheckResult == null ? new ArrayList<>() : elementCheckResult.getMessages();
   }
 
   private List<String> getReferences(DomElement element, BpmnDiagramCheckResult result) {
-    return result.getResults().stream()
-        .filter(
-            elementCheckResult ->
-                elementCheckResult.getElementId().equals(element.getAttribute("id")))
-        .map(BpmnElementCheckResult::getReferences)
-        .findFirst()
-        .orElseGet(ArrayList::new);
+    BpmnElementCheckResult elementCheckResult = result.getResult(element.getAttribute("id"));
+    return elementCheckResult == null ? new ArrayList<>() : elementCheckResult.getReferences();
   }
 
   private List<String> getReferencedBys(DomElement element, BpmnDiagramCheckResult result) {
-    return result.getResults().stream()
-        .filter(
-            elementCheckResult ->
-                elementCheckResult.getElementId().equals(element.getAttribute("id")))
-        .map(BpmnElementCheckResult::getReferencedBy)
-        .findFirst()
-        .orElseGet(ArrayList::new);
+    BpmnElementCheckResult elementCheckResult = result.getResult(element.getAttribute("id"));
+    return elementCheckResult == null ? new ArrayList<>() : elementCheckResult.getReferencedBy();
   }
 
   public void printXml(DomDocument document, boolean prettyPrint, Writer writer) {
-    bpmnParser.validateModel(document);
+    bpmnParser.get().validateModel(document);
     StreamResult result = new StreamResult(writer);
-    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-    try (InputStream in = getClass().getClassLoader().getResourceAsStream("prettyprint.xsl")) {
-      Transformer transformer =
-          transformerFactory.newTransformer(new StreamSource(new InputStreamReader(in)));
+    try {
+      Transformer transformer = PRETTY_PRINT_TEMPLATES.newTransformer();
       transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
       if (prettyPrint) {
         transformer.setOutputProperty(OutputKeys.INDENT, "yes");
@@ -188,8 +166,6 @@ public class BpmnConverter {
       throw new ModelIoException("Unable to create a transformer for the model", e);
     } catch (TransformerException e) {
       throw new ModelIoException("Unable to transform model to xml", e);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
     }
   }
 
@@ -201,9 +177,7 @@ public class BpmnConverter {
     DomElementVisitorContext elementContext =
         new DefaultDomElementVisitorContext(
             element, context, result, notificationService, properties);
-    visitors.stream()
-        .sorted(Comparator.comparingInt(this::sortVisitor))
-        .forEach(visitor -> visitor.visit(elementContext));
+    visitorIndex.getVisitors(element).forEach(visitor -> visitor.visit(elementContext));
     element.getChildElements().forEach(child -> traverse(child, result, context, properties));
   }
 
@@ -223,123 +197,73 @@ public class BpmnConverter {
     return 4;
   }
 
+  /**
+   * Writes the results as csv. The writer is flushed, but not closed.
+   *
+   * @param results the results to write
+   * @param writer the writer to write to
+   */
   public void writeCsvFile(List<BpmnDiagramCheckResult> results, Writer writer) {
-    try (ICSVWriter csvWriter = new CSVWriterBuilder(writer).withSeparator(';').build()) {
-      csvWriter.writeNext(createHeaders());
-      csvWriter.writeAll(createLines(results));
-    } catch (IOException e) {
-      throw new RuntimeException("Error while writing csv file", e);
+    try (BpmnDiagramCheckResultSink sink = createCsvSink(new NonClosingWriter(writer))) {
+      results.forEach(sink::accept);
     }
   }
 
+  /**
+   * Writes the results as markdown. The writer is flushed, but not closed.
+   *
+   * @param results the results to write
+   * @param writer the writer to write to
+   */
   public void writeMarkdownFile(List<BpmnDiagramCheckResult> results, Writer writer) {
-    MARKDOWN_TEMPLATE.execute(createContext(results), writer);
+    try (BpmnDiagramCheckResultSink sink = createMarkdownSink(new NonClosingWriter(writer))) {
+      results.forEach(sink::accept);
+    }
   }
 
-  private MustacheContext createContext(List<BpmnDiagramCheckResult> results) {
-    List<MustacheResultContext> contexts = new ArrayList<>();
-    results.forEach(
-        bpmnDiagramCheckResult -> {
-          List<MustacheElementResultContext> resultList = new ArrayList<>();
-          bpmnDiagramCheckResult
-              .getResults()
-              .forEach(
-                  bpmnElementCheckResult -> {
-                    List<MustacheSeverityContext> severities = new ArrayList<>();
-                    bpmnElementCheckResult
-                        .getMessages()
-                        .forEach(
-                            bpmnElementCheckMessage -> {
-                              // create severity if absent
-                              MustacheSeverityContext mustacheSeverityContext =
-                                  severities.stream()
-                                      .filter(
-                                          severity ->
-                                              severity
-                                                  .severity()
-                                                  .equals(
-                                                      bpmnElementCheckMessage.getSeverity().name()))
-                                      .findFirst()
-                                      .orElseGet(
-                                          () -> {
-                                            List<MustacheMessageContext> messages =
-                                                new ArrayList<>();
-                                            MustacheSeverityContext newMustacheSeverityContext =
-                                                new MustacheSeverityContext(
-                                                    bpmnElementCheckMessage.getSeverity().name(),
-                                                    messages,
-                                                    (frag, out) ->
-                                                        out.write(String.valueOf(messages.size())));
-                                            severities.add(newMustacheSeverityContext);
-                                            return newMustacheSeverityContext;
-                                          });
-                              mustacheSeverityContext
-                                  .messages()
-                                  .add(
-                                      new MustacheMessageContext(
-                                          bpmnElementCheckMessage.getMessage(),
-                                          bpmnElementCheckMessage.getLink()));
-                            });
-                    resultList.add(
-                        new MustacheElementResultContext(
-                            bpmnElementCheckResult.getElementName(),
-                            bpmnElementCheckResult.getElementId(),
-                            bpmnElementCheckResult.getElementType(),
-                            severities));
-                  });
-          contexts.add(new MustacheResultContext(bpmnDiagramCheckResult.getFilename(), resultList));
-        });
-    return new MustacheContext(contexts);
+  /**
+   * Creates a sink that writes the results as csv while they are accepted. Closing the sink closes
+   * the writer.
+   *
+   * @param writer the writer to write to
+   * @return the sink
+   */
+  public BpmnDiagramCheckResultSink createCsvSink(Writer writer) {
+    return new CsvResultSink(writer);
   }
 
-  private String[] createHeaders() {
-    return new String[] {
-      "filename",
-      "elementName",
-      "elementId",
-      "elementType",
-      "severity",
-      "messageId",
-      "message",
-      "link"
-    };
+  /**
+   * Creates a sink that writes the results as markdown while they are accepted. Closing the sink
+   * closes the writer.
+   *
+   * @param writer the writer to write to
+   * @return the sink
+   */
+  public BpmnDiagramCheckResultSink createMarkdownSink(Writer writer) {
+    return new MarkdownResultSink(writer);
   }
 
-  private List<String[]> createLines(List<BpmnDiagramCheckResult> results) {
-    return results.stream()
-        .flatMap(
-            diagramCheckResult ->
-                diagramCheckResult.getResults().stream()
-                    .flatMap(
-                        elementCheckResult ->
-                            elementCheckResult.getMessages().stream()
-                                .map(
-                                    message ->
-                                        new String[] {
-                                          diagramCheckResult.getFilename(),
-                                          elementCheckResult.getElementName(),
-                                          elementCheckResult.getElementId(),
-                                          elementCheckResult.getElementType(),
-                                          message.getSeverity().name(),
-                                          message.getId(),
-                                          message.getMessage(),
-                                          message.getLink()
-                                        })))
-        .collect(Collectors.toList());
+  /**
+   * Creates a sink that writes the results in a compact binary format while they are accepted. The
+   * results can be read with {@link BpmnDiagramCheckResultReader}. Closing the sink closes the
+   * output stream.
+   *
+   * @param outputStream the stream to write to
+   * @return the sink
+   */
+  public BpmnDiagramCheckResultSink createBinarySink(OutputStream outputStream) {
+    return new BinaryResultSink(outputStream);
   }
 
-  record MustacheContext(List<MustacheResultContext> contexts) {
-    record MustacheResultContext(String filename, List<MustacheElementResultContext> results) {
-      record MustacheElementResultContext(
-          String elementName,
-          String elementId,
-          String elementType,
-          List<MustacheSeverityContext> severities) {
-        record MustacheSeverityContext(
-            String severity, List<MustacheMessageContext> messages, Mustache.Lambda count) {
-          record MustacheMessageContext(String message, String link) {}
-        }
-      }
+  /** Keeps the writer of the caller open when a sink is closed */
+  private static class NonClosingWriter extends FilterWriter {
+    private NonClosingWriter(Writer writer) {
+      super(writer);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
     }
   }
 }
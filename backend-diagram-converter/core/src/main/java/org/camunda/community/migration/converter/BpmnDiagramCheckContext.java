@@ -16,6 +16,7 @@ public class BpmnDiagramCheckContext {
 
   private final Map<DomElement, Convertible> convertibles = new HashMap<>();
   private final Map<String, List<BpmnElementCheckResult>> referencesToCreate = new HashMap<>();
+  private final Map<DomElement, BpmnElementCheckResult> bpmnElementCheckResults = new HashMap<>();
 
   public Map<DomElement, Convertible> getConvertibles() {
     return convertibles;
@@ -46,4 +47,8 @@ public class BpmnDiagramCheckContext {
   public Map<String, List<BpmnElementCheckResult>> getReferencesToCreate() {
     return referencesToCreate;
   }
+
+  public Map<DomElement, BpmnElementCheckResult> getBpmnElementCheckResults() {
+    return bpmnElementCheckResults;
+  }
 }
@@ -1,10 +1,15 @@
 package org.camunda.community.migration.converter;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BpmnDiagramCheckResult {
-  private final List<BpmnElementCheckResult> results = new ArrayList<>();
+  private final List<BpmnElementCheckResult> results = new IndexedResults();
+  // built on the first lookup, dropped whenever the results are modified other than by appending
+  private Map<String, BpmnElementCheckResult> resultsById;
   private String filename;
   private String converterVersion;
 
@@ -20,11 +25,21 @@ public class BpmnDiagramCheckResult {
     return results;
   }
 
+  public void setResults(List<BpmnElementCheckResult> results) {
+    this.results.clear();
+    this.results.addAll(results);
+  }
+
   public BpmnElementCheckResult getResult(String elementId) {
-    return getResults().stream()
-        .filter(element -> element.getElementId().equals(elementId))
-        .findFirst()
-        .orElse(null);
+    if (resultsById == null) {
+      resultsById = new HashMap<>();
+      results.forEach(result -> resultsById.putIfAbsent(result.getElementId(), result));
+    }
+    return resultsById.get(elementId);
+  }
+
+  public void addResult(BpmnElementCheckResult result) {
+    results.add(result);
   }
 
   public String getFilename() {
@@ -46,6 +61,45 @@ public class BpmnDiagramCheckResult {
         + '}';
   }
 
+  /** The results in order, keeps the id index up to date or drops it when they are modified */
+  private class IndexedResults extends AbstractList<BpmnElementCheckResult> {
+    private final List<BpmnElementCheckResult> elements = new ArrayList<>();
+
+    @Override
+    public BpmnElementCheckResult get(int index) {
+      return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+      return elements.size();
+    }
+
+    @Override
+    public BpmnElementCheckResult set(int index, BpmnElementCheckResult element) {
+      resultsById = null;
+      return elements.set(index, element);
+    }
+
+    @Override
+    public void add(int index, BpmnElementCheckResult element) {
+      if (index == elements.size() && resultsById != null) {
+        resultsById.putIfAbsent(element.getElementId(), element);
+      } else {
+        resultsById = null;
+      }
+      elements.add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public BpmnElementCheckResult remove(int index) {
+      resultsById = null;
+      modCount++;
+      return elements.remove(index);
+    }
+  }
+
   public enum Severity {
     WARNING,
     TASK,
@@ -0,0 +1,204 @@
+package org.camunda.community.migration.converter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
+
+/**
+ * Reads results written by {@link BpmnConverter#createBinarySink(java.io.OutputStream)} one diagram
+ * at a time. The file is memory-mapped in windows, so files larger than the heap can be aggregated.
+ * Repeated strings are read once and shared between the results.
+ *
+ * <p>The file starts with a magic number and the format version, followed by the diagrams. Numbers
+ * are variable-length encoded. A string is either null, a literal, a literal that is appended to
+ * the dictionary or the index of a dictionary entry. Severities are written as the codes of {@link
+ * #severityCode(Severity)}.
+ */
+public class BpmnDiagramCheckResultReader implements AutoCloseable {
+  static final int MAGIC = 0x43375238;
+  static final int VERSION = 1;
+  static final int NULL = 0;
+  static final int LITERAL = 1;
+  static final int DICTIONARY_ENTRY = 2;
+  static final int DICTIONARY_OFFSET = 3;
+  static final int MAX_DICTIONARY_SIZE = 1 << 20;
+  private static final long WINDOW_SIZE = 64L << 20;
+  private final FileChannel channel;
+  private final long size;
+  private final List<String> dictionary = new ArrayList<>();
+  private MappedByteBuffer buffer;
+  private long bufferStart;
+
+  private BpmnDiagramCheckResultReader(FileChannel channel) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+    this.buffer = channel.map(MapMode.READ_ONLY, 0, Math.min(size, WINDOW_SIZE));
+    ensure(8);
+    if (buffer.getInt() != MAGIC) {
+      throw new IllegalStateException("Not a results file");
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IllegalStateException("Unsupported results file version " + version);
+    }
+  }
+
+  // the codes are part of the format, they must not change when severities are added or reordered
+  static int severityCode(Severity severity) {
+    return switch (severity) {
+      case WARNING -> 0;
+      case TASK -> 1;
+      case REVIEW -> 2;
+      case INFO -> 3;
+    };
+  }
+
+  private static Severity severity(int code) {
+    return switch (code) {
+      case 0 -> Severity.WARNING;
+      case 1 -> Severity.TASK;
+      case 2 -> Severity.REVIEW;
+      case 3 -> Severity.INFO;
+      default -> throw new IllegalStateException("Unknown severity " + code + " in results file");
+    };
+  }
+
+  public static BpmnDiagramCheckResultReader open(Path file) {
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+      return new BpmnDiagramCheckResultReader(channel);
+    } catch (IOException | RuntimeException e) {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException closeException) {
+          e.addSuppressed(closeException);
+        }
+      }
+      throw new RuntimeException("Error while opening results file " + file, e);
+    }
+  }
+
+  /**
+   * Reads the next diagram.
+   *
+   * @return the result of the diagram or {@code null} if all diagrams have been read
+   */
+  public BpmnDiagramCheckResult next() {
+    if (position() == size) {
+      return null;
+    }
+    try {
+      BpmnDiagramCheckResult result = new BpmnDiagramCheckResult();
+      result.setFilename(readString());
+      result.setConverterVersion(readString());
+      int elementCount = readVarInt();
+      for (int i = 0; i < elementCount; i++) {
+        BpmnElementCheckResult elementCheckResult = new BpmnElementCheckResult();
+        elementCheckResult.setElementId(readString());
+        elementCheckResult.setElementName(readString());
+        elementCheckResult.setElementType(readString());
+        int messageCount = readVarInt();
+        for (int j = 0; j < messageCount; j++) {
+          BpmnElementCheckMessage message = new BpmnElementCheckMessage();
+          ensure(1);
+          message.setSeverity(severity(buffer.get()));
+          message.setId(readString());
+          message.setMessage(readString());
+          message.setLink(readString());
+          elementCheckResult.getMessages().add(message);
+        }
+        readStrings(elementCheckResult.getReferences());
+        readStrings(elementCheckResult.getReferencedBy());
+        result.addResult(elementCheckResult);
+      }
+      return result;
+    } catch (IOException e) {
+      throw new RuntimeException("Error while reading results file", e);
+    }
+  }
+
+  public void forEach(Consumer<BpmnDiagramCheckResult> consumer) {
+    BpmnDiagramCheckResult result;
+    while ((result = next()) != null) {
+      consumer.accept(result);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Error while closing results file", e);
+    }
+  }
+
+  private void readStrings(List<String> values) throws IOException {
+    int count = readVarInt();
+    for (int i = 0; i < count; i++) {
+      values.add(readString());
+    }
+  }
+
+  private String readString() throws IOException {
+    int tag = readVarInt();
+    if (tag == NULL) {
+      return null;
+    }
+    if (tag >= DICTIONARY_OFFSET) {
+      return dictionary.get(tag - DICTIONARY_OFFSET);
+    }
+    int length = readVarInt();
+    ensure(length);
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    String value = new String(bytes, StandardCharsets.UTF_8);
+    if (tag == DICTIONARY_ENTRY) {
+      dictionary.add(value);
+    }
+    return value;
+  }
+
+  private int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      ensure(1);
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Invalid number in results file");
+  }
+
+  private long position() {
+    return bufferStart + buffer.position();
+  }
+
+  private void ensure(int length) throws IOException {
+    if (buffer.remaining() >= length) {
+      return;
+    }
+    long position = position();
+    if (size - position < length) {
+      throw new IllegalStateException("Unexpected end of results file");
+    }
+    buffer =
+        channel.map(
+            MapMode.READ_ONLY, position, Math.min(size - position, Math.max(WINDOW_SIZE, length)));
+    bufferStart = position;
+  }
+}
@@ -0,0 +1,12 @@
+package org.camunda.community.migration.converter;
+
+/**
+ * Receives the results of diagram checks one by one, so that reports of many diagrams can be
+ * written without keeping all results in memory. Implementations are thread-safe.
+ */
+public interface BpmnDiagramCheckResultSink extends AutoCloseable {
+  void accept(BpmnDiagramCheckResult result);
+
+  @Override
+  void close();
+}
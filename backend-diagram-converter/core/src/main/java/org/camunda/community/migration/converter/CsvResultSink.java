@@ -0,0 +1,61 @@
+package org.camunda.community.migration.converter;
+
+import com.opencsv.CSVWriterBuilder;
+import com.opencsv.ICSVWriter;
+import java.io.IOException;
+import java.io.Writer;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
+
+/** Writes one line per message, the lines of a diagram are written as soon as it is accepted. */
+class CsvResultSink implements BpmnDiagramCheckResultSink {
+  private static final String[] HEADERS = {
+    "filename",
+    "elementName",
+    "elementId",
+    "elementType",
+    "severity",
+    "messageId",
+    "message",
+    "link"
+  };
+  private final ICSVWriter csvWriter;
+  // reused for every line, the csv writer does not keep it
+  private final String[] line = new String[HEADERS.length];
+
+  CsvResultSink(Writer writer) {
+    csvWriter = new CSVWriterBuilder(writer).withSeparator(';').build();
+    csvWriter.writeNext(HEADERS);
+  }
+
+  @Override
+  public synchronized void accept(BpmnDiagramCheckResult result) {
+    line[0] = result.getFilename();
+    for (BpmnElementCheckResult elementCheckResult : result.getResults()) {
+      line[1] = elementCheckResult.getElementName();
+      line[2] = elementCheckResult.getElementId();
+      line[3] = elementCheckResult.getElementType();
+      for (BpmnElementCheckMessage message : elementCheckResult.getMessages()) {
+        line[4] = message.getSeverity().name();
+        line[5] = message.getId();
+        line[6] = message.getMessage();
+        line[7] = message.getLink();
+        csvWriter.writeNext(line);
+      }
+    }
+    try {
+      csvWriter.flush();
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing csv file", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      csvWriter.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing csv file", e);
+    }
+  }
+}
@@ -192,10 +192,16 @@ public interface DomElementVisitorContext {
     }
 
     private BpmnElementCheckResult findBpmnElementCheckResult(DomElement element) {
-      return result.getResults().stream()
-          .filter(r -> r.getElementId().equals(extractId(element)))
-          .findFirst()
-          .orElseGet(() -> findBpmnElementCheckResult(element.getParentElement()));
+      BpmnElementCheckResult bpmnElementCheckResult =
+          context.getBpmnElementCheckResults().get(element);
+      if (bpmnElementCheckResult == null) {
+        bpmnElementCheckResult = result.getResult(extractId(element));
+        if (bpmnElementCheckResult == null) {
+          bpmnElementCheckResult = findBpmnElementCheckResult(element.getParentElement());
+        }
+        context.getBpmnElementCheckResults().put(element, bpmnElementCheckResult);
+      }
+      return bpmnElementCheckResult;
     }
 
     private String extractId(DomElement element) {
@@ -217,11 +223,12 @@ public interface DomElementVisitorContext {
       List<BpmnElementCheckResult> bpmnElementCheckResults =
           context.getReferencesToCreate().getOrDefault(id, new ArrayList<>());
       bpmnElementCheckResults.forEach(other -> createReference(other, result));
-      this.result.getResults().add(result);
+      this.result.addResult(result);
+      context.getBpmnElementCheckResults().put(element, result);
     }
 
     private boolean containsId(String id) {
-      return result.getResults().stream().anyMatch(r -> r.getElementId().equals(id));
+      return result.getResult(id) != null;
     }
   }
 }
@@ -0,0 +1,107 @@
+package org.camunda.community.migration.converter;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.MustacheException;
+import com.samskivert.mustache.Template;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
+
+/**
+ * Writes a markdown report. The template renders a single diagram, so each diagram is written as
+ * soon as it is accepted. Messages of an element are grouped by severity in the order of {@link
+ * Severity}.
+ */
+class MarkdownResultSink implements BpmnDiagramCheckResultSink {
+  private static final String HEADER = "# Conversion Report\n\n";
+  private static final Template TEMPLATE;
+
+  static {
+    try (InputStream in =
+        MarkdownResultSink.class
+            .getClassLoader()
+            .getResourceAsStream("bpmn-diagram-check-result.mustache")) {
+      TEMPLATE = Mustache.compiler().compile(new String(in.readAllBytes()));
+    } catch (IOException e) {
+      throw new RuntimeException("Error while loading result printer template", e);
+    }
+  }
+
+  private final Writer writer;
+
+  MarkdownResultSink(Writer writer) {
+    this.writer = writer;
+    try {
+      writer.write(HEADER);
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing markdown file", e);
+    }
+  }
+
+  @Override
+  public synchronized void accept(BpmnDiagramCheckResult result) {
+    try {
+      TEMPLATE.execute(createContext(result), writer);
+      writer.flush();
+    } catch (IOException | MustacheException e) {
+      throw new RuntimeException("Error while writing markdown file", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      writer.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Error while writing markdown file", e);
+    }
+  }
+
+  private MustacheResultContext createContext(BpmnDiagramCheckResult result) {
+    List<MustacheElementResultContext> elementResults = new ArrayList<>(result.getResults().size());
+    for (BpmnElementCheckResult elementCheckResult : result.getResults()) {
+      Map<Severity, List<MustacheMessageContext>> messagesBySeverity =
+          new EnumMap<>(Severity.class);
+      for (BpmnElementCheckMessage message : elementCheckResult.getMessages()) {
+        messagesBySeverity
+            .computeIfAbsent(message.getSeverity(), severity -> new ArrayList<>())
+            .add(new MustacheMessageContext(message.getMessage(), message.getLink()));
+      }
+      List<MustacheSeverityContext> severities = new ArrayList<>(messagesBySeverity.size());
+      messagesBySeverity.forEach(
+          (severity, messages) ->
+              severities.add(
+                  new MustacheSeverityContext(
+                      severity.name(),
+                      messages,
+                      (frag, out) -> out.write(String.valueOf(messages.size())))));
+      elementResults.add(
+          new MustacheElementResultContext(
+              elementCheckResult.getElementName(),
+              elementCheckResult.getElementId(),
+              elementCheckResult.getElementType(),
+              severities));
+    }
+    return new MustacheResultContext(result.getFilename(), elementResults);
+  }
+
+  record MustacheResultContext(String filename, List<MustacheElementResultContext> results) {}
+
+  record MustacheElementResultContext(
+      String elementName,
+      String elementId,
+      String elementType,
+      List<MustacheSeverityContext> severities) {}
+
+  record MustacheSeverityContext(
+      String severity, List<MustacheMessageContext> messages, Mustache.Lambda count) {}
+
+  record MustacheMessageContext(String message, String link) {}
+}
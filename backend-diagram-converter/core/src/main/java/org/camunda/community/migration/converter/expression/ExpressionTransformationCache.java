@@ -0,0 +1,114 @@
+package org.camunda.community.migration.converter.expression;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of transformation results by JUEL expression. Results are immutable, so one cache
+ * is shared by all conversions in a process. Once the cache is full, entries are evicted with a
+ * second chance (clock) policy: entries are visited in insertion order, an entry that has been hit
+ * since the last visit is kept for another round. Lookups only set a flag, so they stay free of
+ * locks.
+ */
+public class ExpressionTransformationCache {
+  private final Map<String, CacheEntry> results = new ConcurrentHashMap<>();
+  // the clock, every cached expression appears once
+  private final Queue<String> clock = new ConcurrentLinkedQueue<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private volatile int maxSize;
+
+  public ExpressionTransformationCache(int maxSize) {
+    setMaxSize(maxSize);
+  }
+
+  public ExpressionTransformationResult get(
+      String juelExpression, Function<String, ExpressionTransformationResult> transformation) {
+    CacheEntry entry = results.get(juelExpression);
+    if (entry != null) {
+      hits.increment();
+      entry.referenced = true;
+      return entry.result;
+    }
+    misses.increment();
+    ExpressionTransformationResult result = transformation.apply(juelExpression);
+    if (maxSize > 0 && results.putIfAbsent(juelExpression, new CacheEntry(result)) == null) {
+      clock.add(juelExpression);
+      evict();
+    }
+    return result;
+  }
+
+  /**
+   * Sets the maximum number of cached results, 0 disables the cache.
+   *
+   * @param maxSize the maximum number of cached results
+   */
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Cache size must not be negative, was " + maxSize);
+    }
+    this.maxSize = maxSize;
+    evict();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void clear() {
+    results.clear();
+    clock.clear();
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+  }
+
+  public Statistics getStatistics() {
+    return new Statistics(hits.sum(), misses.sum(), evictions.sum(), results.size());
+  }
+
+  private void evict() {
+    String key;
+    while (results.size() > maxSize && (key = clock.poll()) != null) {
+      CacheEntry entry = results.get(key);
+      if (entry == null) {
+        continue;
+      }
+      if (entry.referenced) {
+        entry.referenced = false;
+        clock.add(key);
+      } else if (results.remove(key, entry)) {
+        evictions.increment();
+      }
+    }
+  }
+
+  private static final class CacheEntry {
+    private final ExpressionTransformationResult result;
+    private volatile boolean referenced;
+
+    private CacheEntry(ExpressionTransformationResult result) {
+      this.result = result;
+    }
+  }
+
+  public record Statistics(long hits, long misses, long evictions, int size) {
+    public double hitRate() {
+      long requests = hits + misses;
+      return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d hits, %d misses (hit rate %.1f%%), %d evictions, %d entries",
+          hits, misses, hitRate() * 100, evictions, size);
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package org.camunda.community.migration.converter.expression;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer.Usages;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,16 +8,37 @@ public class ExpressionTransformationResult {
 
   private static final Logger LOG = LoggerFactory.getLogger(ExpressionTransformationResult.class);
 
-  private static final Pattern methodInvocationPattern = Pattern.compile("\\.[\\w]*\\(.*\\)");
-  private static final Pattern executionPattern = Pattern.compile("execution\\.");
-  private static final Pattern executionGetVariablePattern =
-      Pattern.compile("execution.getVariable");
   private final String juelExpression;
   private final String feelExpression;
+  private final boolean methodInvocation;
+  private final boolean execution;
+  private final boolean executionGetVariable;
 
   public ExpressionTransformationResult(String oldExpression, String newExpression) {
+    this(oldExpression, newExpression, ExpressionTransformer.analyze(oldExpression));
+  }
+
+  private ExpressionTransformationResult(
+      String oldExpression, String newExpression, Usages usages) {
+    this(
+        oldExpression,
+        newExpression,
+        usages.methodInvocation,
+        usages.execution,
+        usages.executionGetVariable);
+  }
+
+  ExpressionTransformationResult(
+      String oldExpression,
+      String newExpression,
+      boolean methodInvocation,
+      boolean execution,
+      boolean executionGetVariable) {
     this.juelExpression = oldExpression;
     this.feelExpression = newExpression;
+    this.methodInvocation = methodInvocation;
+    this.execution = execution;
+    this.executionGetVariable = executionGetVariable;
   }
 
   public String getJuelExpression() {
@@ -33,26 +53,20 @@ public class ExpressionTransformationResult {
     if (hasExecutionGetVariable()) {
       return false;
     }
-    Matcher m = methodInvocationPattern.matcher(juelExpression);
-    boolean methodMatch = m.find();
-    LOG.debug("{} contains method invocation: {}", juelExpression, methodMatch);
-    return methodMatch;
+    LOG.debug("{} contains method invocation: {}", juelExpression, methodInvocation);
+    return methodInvocation;
   }
 
   public Boolean hasExecutionOnly() {
     if (hasExecutionGetVariable()) {
       return false;
     }
-    Matcher m = executionPattern.matcher(juelExpression);
-    boolean executionOnlyMatch = m.find();
-    LOG.debug("{} contains execution only: {}", juelExpression, executionOnlyMatch);
-    return executionOnlyMatch;
+    LOG.debug("{} contains execution only: {}", juelExpression, execution);
+    return execution;
   }
 
   public Boolean hasExecutionGetVariable() {
-    Matcher m = executionGetVariablePattern.matcher(juelExpression);
-    boolean executionGetVariableMatch = m.find();
-    LOG.debug("{} contains execution.getVariable: {}", juelExpression, executionGetVariableMatch);
-    return executionGetVariableMatch;
+    LOG.debug("{} contains execution.getVariable: {}", juelExpression, executionGetVariable);
+    return executionGetVariable;
   }
 }
@@ -1,13 +1,29 @@
 package org.camunda.community.migration.converter.expression;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+/**
+ * Transforms JUEL expressions to FEEL. The expression is tokenized once, the tokens are translated
+ * to FEEL while the usages of the execution and of method invocations are recorded. Results are
+ * cached by expression, as the same expressions repeat across diagrams.
+ */
 public class ExpressionTransformer {
-  private static final ExpressionTransformer INSTANCE = new ExpressionTransformer();
+  public static final int DEFAULT_CACHE_SIZE = 10000;
+  private static final ExpressionTransformationCache CACHE =
+      new ExpressionTransformationCache(DEFAULT_CACHE_SIZE);
+  private static final Map<String, String> OPERATORS =
+      Map.ofEntries(
+          Map.entry("==", "="),
+          Map.entry("&&", "and"),
+          Map.entry("||", "or"),
+          Map.entry("eq", "="),
+          Map.entry("ne", "!="),
+          Map.entry("gt", ">"),
+          Map.entry("lt", "<"),
+          Map.entry("ge", ">="),
+          Map.entry("le", "<="));
 
   private ExpressionTransformer() {}
 
@@ -15,66 +31,375 @@ public class ExpressionTransformer {
     if (juelExpression == null) {
       return null;
     }
-    String transform = INSTANCE.doTransform(juelExpression);
-    return new ExpressionTransformationResult(juelExpression, transform);
+    return CACHE.get(juelExpression, ExpressionTransformer::doTransform);
   }
 
-  private String doTransform(final String juelExpression) {
-    if (juelExpression == null) {
-      return null;
+  /** The cache shared by all transformations in this process. */
+  public static ExpressionTransformationCache getCache() {
+    return CACHE;
+  }
+
+  private static ExpressionTransformationResult doTransform(final String juelExpression) {
+    Usages usages = new Usages();
+    String transform = doTransform(juelExpression, usages);
+    return new ExpressionTransformationResult(
+        juelExpression,
+        transform,
+        usages.methodInvocation,
+        usages.execution,
+        usages.executionGetVariable);
+  }
+
+  /** Records the usages in a JUEL expression body, without the surrounding delimiters. */
+  static Usages analyze(String expressionBody) {
+    Usages usages = new Usages();
+    if (expressionBody != null) {
+      new Translation(tokenize(expressionBody), usages).translate();
     }
+    return usages;
+  }
+
+  private static String doTransform(final String juelExpression, Usages usages) {
     if (juelExpression.isEmpty()) {
       return "=null";
     }
-    // split into expressions and non-expressions
-    List<String> nonExpressions =
-        Arrays.stream(juelExpression.split("(#|\\$)\\{.*}"))
-            .map(String::trim)
-            .filter(s -> !s.isEmpty())
-            .toList();
-    if (nonExpressions.size() == 1
-        && juelExpression.trim().length() == nonExpressions.get(0).length()) {
+    List<String> parts = new ArrayList<>();
+    boolean hasExpression = false;
+    int position = 0;
+    while (position < juelExpression.length()) {
+      int start = expressionStart(juelExpression, position);
+      int end = start < 0 ? -1 : expressionEnd(juelExpression, start + 2);
+      if (end < 0) {
+        addLiteral(parts, juelExpression.substring(position));
+        break;
+      }
+      hasExpression = true;
+      addLiteral(parts, juelExpression.substring(position, start));
+      String expression = juelExpression.substring(start + 2, end).trim();
+      if (!expression.isEmpty()) {
+        parts.add(new Translation(tokenize(expression), usages).translate());
+      }
+      position = end + 1;
+    }
+    if (!hasExpression && !parts.isEmpty()) {
       return juelExpression;
     }
-    List<String> expressions =
-        Arrays.stream(juelExpression.split("(#|\\$)\\{|}"))
-            .map(String::trim)
-            .filter(s -> !s.isEmpty())
-            .map(s -> nonExpressions.contains(s) ? "\"" + s + "\"" : handleExpression(s))
-            .collect(Collectors.toList());
-    return "=" + String.join(" + ", expressions);
-  }
-
-  private String handleExpression(String expression) {
-    // replace operators globally
-    String replaced =
-        expression
-            .replaceAll("empty (\\S*)", "$1=null")
-            // replace all !x with not(x)
-            .replaceAll("!(?![\\(=])([\\S-^]*)", "not($1)")
-            // replace all not x with not(x)
-            .replaceAll("not (?![\\(=])([\\S-^]*)", "not($1)")
-            // replace all x["y"] with x.y
-            .replaceAll("\\[\\\"(\\D[^\\]\\[]*)\\\"]", ".$1")
-            .replaceAll(" gt ", " > ")
-            .replaceAll(" lt ", " < ")
-            .replaceAll("==", "=")
-            .replaceAll(" eq ", " = ")
-            .replaceAll(" ne ", " != ")
-            // replace all !(x and y) with not(x and y)
-            .replaceAll("!\\(([^\\(\\)]*)\\)", "not($1)")
-            .replaceAll(" && ", " and ")
-            .replaceAll(" \\|\\| ", " or ")
-            .replaceAll("'", "\"")
-            .replaceAll("execution\\.getVariable\\(\"(.*)\"\\)", "$1");
-    // increment all indexes
-    Pattern pattern = Pattern.compile("\\[(\\d*)\\]");
-    Matcher m = pattern.matcher(replaced);
-    while (m.find()) {
-      String oldIndex = "[" + Long.parseLong(m.group(1)) + "]";
-      String newIndex = "[" + (Long.parseLong(m.group(1)) + 1) + "]";
-      replaced = replaced.replace(oldIndex, newIndex);
-    }
-    return replaced;
+    return "=" + String.join(" + ", parts);
+  }
+
+  private static void addLiteral(List<String> parts, String literal) {
+    String trimmed = literal.trim();
+    if (!trimmed.isEmpty()) {
+      parts.add(quote(trimmed));
+    }
+  }
+
+  private static int expressionStart(String text, int from) {
+    for (int i = from; i < text.length() - 1; i++) {
+      char c = text.charAt(i);
+      if ((c == '$' || c == '#') && text.charAt(i + 1) == '{') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Finds the closing brace of an expression, braces in string literals are skipped. */
+  private static int expressionEnd(String text, int from) {
+    int depth = 0;
+    char quote = 0;
+    for (int i = from; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (quote != 0) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '{') {
+        depth++;
+      } else if (c == '}') {
+        if (depth == 0) {
+          return i;
+        }
+        depth--;
+      }
+    }
+    return -1;
+  }
+
+  private static String quote(String value) {
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  private static List<Token> tokenize(String expression) {
+    List<Token> tokens = new ArrayList<>();
+    int length = expression.length();
+    int i = 0;
+    while (i < length) {
+      char c = expression.charAt(i);
+      int start = i;
+      TokenType type;
+      if (Character.isWhitespace(c)) {
+        while (i < length && Character.isWhitespace(expression.charAt(i))) {
+          i++;
+        }
+        type = TokenType.WHITESPACE;
+      } else if (Character.isJavaIdentifierStart(c)) {
+        while (i < length && Character.isJavaIdentifierPart(expression.charAt(i))) {
+          i++;
+        }
+        type = TokenType.IDENTIFIER;
+      } else if (Character.isDigit(c)
+          || (c == '.' && i + 1 < length && Character.isDigit(expression.charAt(i + 1)))) {
+        i = number(expression, i);
+        type = TokenType.NUMBER;
+      } else if (c == '\'' || c == '"') {
+        i++;
+        while (i < length && expression.charAt(i) != c) {
+          i += expression.charAt(i) == '\\' ? 2 : 1;
+        }
+        i = Math.min(i + 1, length);
+        type = TokenType.STRING;
+      } else {
+        i += i + 1 < length && isOperator(c, expression.charAt(i + 1)) ? 2 : 1;
+        type = TokenType.SYMBOL;
+      }
+      tokens.add(new Token(type, expression.substring(start, i)));
+    }
+    return tokens;
+  }
+
+  private static int number(String expression, int i) {
+    int length = expression.length();
+    while (i < length && Character.isDigit(expression.charAt(i))) {
+      i++;
+    }
+    if (i + 1 < length
+        && expression.charAt(i) == '.'
+        && Character.isDigit(expression.charAt(i + 1))) {
+      i++;
+      while (i < length && Character.isDigit(expression.charAt(i))) {
+        i++;
+      }
+    }
+    if (i < length && (expression.charAt(i) == 'e' || expression.charAt(i) == 'E')) {
+      int exponent = i + 1;
+      if (exponent < length
+          && (expression.charAt(exponent) == '+' || expression.charAt(exponent) == '-')) {
+        exponent++;
+      }
+      if (exponent < length && Character.isDigit(expression.charAt(exponent))) {
+        i = exponent;
+        while (i < length && Character.isDigit(expression.charAt(i))) {
+          i++;
+        }
+      }
+    }
+    return i;
+  }
+
+  private static boolean isOperator(char first, char second) {
+    return switch (first) {
+      case '=', '!', '<', '>' -> second == '=';
+      case '&' -> second == '&';
+      case '|' -> second == '|';
+      default -> false;
+    };
+  }
+
+  private enum TokenType {
+    WHITESPACE,
+    IDENTIFIER,
+    NUMBER,
+    STRING,
+    SYMBOL
+  }
+
+  private record Token(TokenType type, String text) {
+    boolean is(String value) {
+      return type != TokenType.STRING && text.equals(value);
+    }
+
+    boolean isIdentifier(String value) {
+      return type == TokenType.IDENTIFIER && text.equals(value);
+    }
+
+    /** The content of a string literal without quotes, escapes are resolved. */
+    String stringValue() {
+      int end = text.length() > 1 && text.charAt(text.length() - 1) == text.charAt(0) ? 1 : 0;
+      String content = text.substring(1, text.length() - end);
+      StringBuilder value = new StringBuilder(content.length());
+      for (int i = 0; i < content.length(); i++) {
+        char c = content.charAt(i);
+        if (c == '\\' && i + 1 < content.length()) {
+          c = content.charAt(++i);
+        }
+        value.append(c);
+      }
+      return value.toString();
+    }
+  }
+
+  static class Usages {
+    boolean methodInvocation;
+    boolean execution;
+    boolean executionGetVariable;
+  }
+
+  /**
+   * Translates a range of tokens to FEEL, operands of unary operators are translated recursively.
+   */
+  private static class Translation {
+    private final List<Token> tokens;
+    private final Usages usages;
+
+    Translation(List<Token> tokens, Usages usages) {
+      this.tokens = tokens;
+      this.usages = usages;
+    }
+
+    String translate() {
+      StringBuilder feel = new StringBuilder();
+      translate(0, tokens.size(), feel);
+      return feel.toString();
+    }
+
+    private void translate(int from, int to, StringBuilder feel) {
+      int i = from;
+      while (i < to) {
+        Token token = tokens.get(i);
+        if (token.isIdentifier("empty") && next(i + 1, to) < to) {
+          int operand = next(i + 1, to);
+          int end = operand(operand, to);
+          translate(operand, end, feel);
+          feel.append("=null");
+          i = end;
+        } else if ((token.is("!") || token.isIdentifier("not")) && next(i + 1, to) < to) {
+          int operand = next(i + 1, to);
+          if (tokens.get(operand).is("(")) {
+            feel.append("not");
+            i = operand;
+          } else {
+            int end = operand(operand, to);
+            feel.append("not(");
+            translate(operand, end, feel);
+            feel.append(')');
+            i = end;
+          }
+        } else if (OPERATORS.containsKey(token.text()) && token.type() != TokenType.STRING) {
+          String operator = OPERATORS.get(token.text());
+          boolean word = Character.isLetter(operator.charAt(0));
+          if (word && !feel.isEmpty() && !Character.isWhitespace(feel.charAt(feel.length() - 1))) {
+            feel.append(' ');
+          }
+          feel.append(operator);
+          if (word && i + 1 < to && tokens.get(i + 1).type() != TokenType.WHITESPACE) {
+            feel.append(' ');
+          }
+          i++;
+        } else if (isExecutionGetVariable(i, to)) {
+          usages.execution = true;
+          usages.executionGetVariable = true;
+          feel.append(tokens.get(i + 4).stringValue());
+          i += 6;
+        } else if (token.is("[") && i + 2 < to && tokens.get(i + 2).is("]")) {
+          Token index = tokens.get(i + 1);
+          if (index.type() == TokenType.STRING
+              && !index.stringValue().isEmpty()
+              && !Character.isDigit(index.stringValue().charAt(0))) {
+            feel.append('.').append(index.stringValue());
+          } else if (index.type() == TokenType.NUMBER
+              && index.text().chars().allMatch(Character::isDigit)) {
+            feel.append('[').append(Long.parseLong(index.text()) + 1).append(']');
+          } else {
+            feel.append('[');
+            translate(i + 1, i + 2, feel);
+            feel.append(']');
+          }
+          i += 3;
+        } else {
+          record(i, to);
+          feel.append(token.type() == TokenType.STRING ? quote(token.stringValue()) : token.text());
+          i++;
+        }
+      }
+    }
+
+    private void record(int i, int to) {
+      Token token = tokens.get(i);
+      if (token.isIdentifier("execution") && i + 1 < to && tokens.get(i + 1).is(".")) {
+        usages.execution = true;
+        if (i + 2 < to && tokens.get(i + 2).isIdentifier("getVariable")) {
+          usages.executionGetVariable = true;
+        }
+      } else if (token.is(".")
+          && i + 2 < to
+          && tokens.get(i + 1).type() == TokenType.IDENTIFIER
+          && tokens.get(i + 2).is("(")) {
+        usages.methodInvocation = true;
+      }
+    }
+
+    private boolean isExecutionGetVariable(int i, int to) {
+      return i + 5 < to
+          && tokens.get(i).isIdentifier("execution")
+          && tokens.get(i + 1).is(".")
+          && tokens.get(i + 2).isIdentifier("getVariable")
+          && tokens.get(i + 3).is("(")
+          && tokens.get(i + 4).type() == TokenType.STRING
+          && tokens.get(i + 5).is(")");
+    }
+
+    /** Returns the index of the next token that is not whitespace. */
+    private int next(int i, int to) {
+      while (i < to && tokens.get(i).type() == TokenType.WHITESPACE) {
+        i++;
+      }
+      return i;
+    }
+
+    /** Returns the end of the unary expression starting at the index. */
+    private int operand(int i, int to) {
+      Token token = tokens.get(i);
+      if (token.is("!")
+          || token.is("-")
+          || token.isIdentifier("not")
+          || token.isIdentifier("empty")) {
+        int operand = next(i + 1, to);
+        return operand < to ? operand(operand, to) : operand;
+      }
+      int end = token.is("(") || token.is("[") ? group(i, to) : i + 1;
+      while (end < to) {
+        Token postfix = tokens.get(end);
+        if (postfix.is(".") && end + 1 < to) {
+          end += 2;
+        } else if (postfix.is("(") || postfix.is("[")) {
+          end = group(end, to);
+        } else {
+          break;
+        }
+      }
+      return end;
+    }
+
+    /** Returns the index after the bracket closing the one at the index. */
+    private int group(int i, int to) {
+      int depth = 0;
+      for (int j = i; j < to; j++) {
+        Token token = tokens.get(j);
+        if (token.is("(") || token.is("[")) {
+          depth++;
+        } else if (token.is(")") || token.is("]")) {
+          depth--;
+          if (depth == 0) {
+            return j + 1;
+          }
+        }
+      }
+      return to;
+    }
   }
 }
@@ -2,12 +2,16 @@ package org.camunda.community.migration.converter.message;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MessageFactory {
   private static final MessageFactory INSTANCE = new MessageFactory();
 
   private final MessageTemplateProvider messageTemplateProvider = new MessageTemplateProvider();
   private final MessageTemplateProcessor messageTemplateProcessor = new MessageTemplateProcessor();
+  // messages without variables are the same on every call, so they are shared
+  private final Map<String, Message> staticMessages = new ConcurrentHashMap<>();
+  private final Message emptyMessage = new EmptyMessage();
 
   private MessageFactory() {}
 
@@ -750,8 +754,24 @@ public class MessageFactory {
   }
 
   private Message composeMessage(String templateName, Map<String, String> context) {
-    ComposedMessage message = new ComposedMessage();
     MessageTemplate template = messageTemplateProvider.getMessageTemplate(templateName);
+    if (template.getVariables().isEmpty()) {
+      // the message is shared, so it must not be changeable
+      return staticMessages.computeIfAbsent(
+          templateName,
+          name ->
+              new StaticMessage(
+                  template.getSeverity(),
+                  messageTemplateProcessor.decorate(template, context),
+                  template.getLink(),
+                  name));
+    }
+    return createMessage(templateName, template, context);
+  }
+
+  private Message createMessage(
+      String templateName, MessageTemplate template, Map<String, String> context) {
+    ComposedMessage message = new ComposedMessage();
     message.setMessage(messageTemplateProcessor.decorate(template, context));
     message.setLink(template.getLink());
     message.setSeverity(template.getSeverity());
@@ -764,6 +784,6 @@ public class MessageFactory {
   }
 
   private Message emptyMessage() {
-    return new EmptyMessage();
+    return emptyMessage;
   }
 }
@@ -1,19 +1,57 @@
 package org.camunda.community.migration.converter.message;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
 
+/**
+ * A message template. The template is split into literal segments and placeholders once, so that
+ * decorating it only appends the segments and the values of the placeholders.
+ */
 public class MessageTemplate {
+  private static final String PLACEHOLDER_START = "{{";
+  private static final String PLACEHOLDER_END = "}}";
   private final Severity severity;
   private final String link;
   private final String template;
   private final List<String> variables;
+  // literals[i] is followed by the value of placeholders[i], the last literal ends the template
+  private final String[] literals;
+  private final String[] placeholders;
+  private final int literalLength;
 
   public MessageTemplate(Severity severity, String link, String template, List<String> variables) {
     this.severity = severity;
     this.link = link;
     this.template = template;
     this.variables = variables;
+    List<String> literals = new ArrayList<>();
+    List<String> placeholders = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int position = 0;
+    while (position < template.length()) {
+      int start = template.indexOf(PLACEHOLDER_START, position);
+      int end = start < 0 ? -1 : template.indexOf(PLACEHOLDER_END, start);
+      if (end < 0) {
+        break;
+      }
+      String name = template.substring(start + PLACEHOLDER_START.length(), end).trim();
+      literal.append(template, position, start);
+      if (variables.contains(name)) {
+        literals.add(literal.toString());
+        placeholders.add(name);
+        literal.setLength(0);
+      } else {
+        literal.append(template, start, end + PLACEHOLDER_END.length());
+      }
+      position = end + PLACEHOLDER_END.length();
+    }
+    literal.append(template, Math.min(position, template.length()), template.length());
+    literals.add(literal.toString());
+    this.literals = literals.toArray(String[]::new);
+    this.placeholders = placeholders.toArray(String[]::new);
+    this.literalLength = literals.stream().mapToInt(String::length).sum();
   }
 
   public String getTemplate() {
@@ -31,4 +69,42 @@ public class MessageTemplate {
   public String getLink() {
     return link;
   }
+
+  /**
+   * Replaces the placeholders with the values from the context.
+   *
+   * @param context the values by variable name, all variables of the template have to be present
+   * @return the message
+   */
+  public String decorate(Map<String, String> context) {
+    List<String> missingVariables = null;
+    for (String variable : variables) {
+      if (context.get(variable) == null) {
+        if (missingVariables == null) {
+          missingVariables = new ArrayList<>();
+        }
+        missingVariables.add(variable);
+      }
+    }
+    if (missingVariables != null) {
+      throw new IllegalStateException(
+          "Error while decorating template '"
+              + template
+              + "': Variables '"
+              + missingVariables
+              + "' are missing");
+    }
+    if (placeholders.length == 0) {
+      return literals[0];
+    }
+    int length = literalLength;
+    for (String placeholder : placeholders) {
+      length += context.get(placeholder).length();
+    }
+    StringBuilder message = new StringBuilder(length);
+    for (int i = 0; i < placeholders.length; i++) {
+      message.append(literals[i]).append(context.get(placeholders[i]));
+    }
+    return message.append(literals[placeholders.length]).toString();
+  }
 }
@@ -18,30 +18,8 @@ public class MessageTemplateProcessor {
   private static final String TEMPLATES_PREFIX = "templates.";
 
   public String decorate(MessageTemplate template, Map<String, String> context) {
-    String templateString = template.getTemplate();
-    List<String> missingVariables = new ArrayList<>();
-    LOG.debug("Filling template '{}' with context {}", templateString, context);
-    for (String variableName : template.getVariables()) {
-      String value = context.get(variableName);
-      if (value == null) {
-        missingVariables.add(variableName);
-      } else {
-        LOG.debug("Replacing {} with {}", variableName, value);
-        templateString =
-            templateString.replaceAll(
-                PREFIX + variableName + SUFFIX, Matcher.quoteReplacement(value));
-        LOG.debug("Template after replacement: {}", templateString);
-      }
-    }
-    if (!missingVariables.isEmpty()) {
-      throw new IllegalStateException(
-          "Error while decorating template '"
-              + template.getTemplate()
-              + "': Variables '"
-              + missingVariables
-              + "' are missing");
-    }
-    return templateString;
+    LOG.debug("Filling template '{}' with context {}", template.getTemplate(), context);
+    return template.decorate(context);
   }
 
   public List<String> extractVariables(String template) {
@@ -0,0 +1,38 @@
+package org.camunda.community.migration.converter.message;
+
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
+
+/** Immutable message, one instance of a template without variables is shared by all diagrams */
+public final class StaticMessage implements Message {
+  private final Severity severity;
+  private final String message;
+  private final String link;
+  private final String id;
+
+  public StaticMessage(Severity severity, String message, String link, String id) {
+    this.severity = severity;
+    this.message = message;
+    this.link = link;
+    this.id = id;
+  }
+
+  @Override
+  public Severity getSeverity() {
+    return severity;
+  }
+
+  @Override
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public String getLink() {
+    return link;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+}
@@ -0,0 +1,102 @@
+package org.camunda.community.migration.converter.visitor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.camunda.bpm.model.xml.instance.DomElement;
+import org.camunda.community.migration.converter.NamespaceUri;
+
+/**
+ * Dispatch table for {@link DomElementVisitor}s. Element visitors are indexed by the namespace and
+ * local name they declare, attribute visitors by the namespace and local name of their attribute.
+ * All other visitors are kept in a fallback bucket that is applied to every element.
+ *
+ * <p>The index only narrows the candidates, each visitor still applies its own filter. The order of
+ * the visitors passed on creation is retained for every element.
+ */
+public class DomElementVisitorIndex {
+  private final Map<VisitorKey, List<IndexedVisitor>> elementVisitors = new LinkedHashMap<>();
+  private final Map<VisitorKey, List<IndexedVisitor>> attributeVisitors = new LinkedHashMap<>();
+  private final List<IndexedVisitor> fallbackVisitors = new ArrayList<>();
+  private final Map<VisitorKey, List<IndexedVisitor>> elementDispatch = new ConcurrentHashMap<>();
+
+  public DomElementVisitorIndex(List<DomElementVisitor> orderedVisitors) {
+    for (int i = 0; i < orderedVisitors.size(); i++) {
+      IndexedVisitor visitor = new IndexedVisitor(i, orderedVisitors.get(i));
+      VisitorKey elementKey = elementKey(visitor.visitor());
+      VisitorKey attributeKey = attributeKey(visitor.visitor());
+      if (elementKey != null) {
+        elementVisitors.computeIfAbsent(elementKey, k -> new ArrayList<>()).add(visitor);
+      } else if (attributeKey != null) {
+        attributeVisitors.computeIfAbsent(attributeKey, k -> new ArrayList<>()).add(visitor);
+      } else {
+        fallbackVisitors.add(visitor);
+      }
+    }
+  }
+
+  /**
+   * Returns the visitors that can possibly visit the given element, in the order they were passed
+   * on creation
+   *
+   * @param element the element to dispatch
+   * @return the ordered candidates for the element
+   */
+  public List<DomElementVisitor> getVisitors(DomElement element) {
+    List<IndexedVisitor> candidates =
+        new ArrayList<>(
+            elementDispatch.computeIfAbsent(
+                new VisitorKey(element.getNamespaceURI(), element.getLocalName()),
+                this::createElementDispatch));
+    // attribute visitors only apply to bpmn elements
+    if (NamespaceUri.BPMN.equals(element.getNamespaceURI())) {
+      boolean attributeVisitorAdded = false;
+      for (Map.Entry<VisitorKey, List<IndexedVisitor>> entry : attributeVisitors.entrySet()) {
+        if (element.getAttribute(entry.getKey().namespaceUri(), entry.getKey().localName())
+            != null) {
+          candidates.addAll(entry.getValue());
+          attributeVisitorAdded = true;
+        }
+      }
+      if (attributeVisitorAdded) {
+        candidates.sort(Comparator.comparingInt(IndexedVisitor::position));
+      }
+    }
+    return candidates.stream().map(IndexedVisitor::visitor).toList();
+  }
+
+  private List<IndexedVisitor> createElementDispatch(VisitorKey key) {
+    List<IndexedVisitor> dispatch = new ArrayList<>(fallbackVisitors);
+    dispatch.addAll(elementVisitors.getOrDefault(key, List.of()));
+    dispatch.sort(Comparator.comparingInt(IndexedVisitor::position));
+    return List.copyOf(dispatch);
+  }
+
+  private static VisitorKey elementKey(DomElementVisitor visitor) {
+    if (visitor instanceof AbstractElementVisitor elementVisitor) {
+      return createKey(elementVisitor.namespaceUri(), elementVisitor.localName());
+    }
+    return null;
+  }
+
+  private static VisitorKey attributeKey(DomElementVisitor visitor) {
+    if (visitor instanceof AbstractAttributeVisitor attributeVisitor) {
+      return createKey(attributeVisitor.namespaceUri(), attributeVisitor.attributeLocalName());
+    }
+    return null;
+  }
+
+  private static VisitorKey createKey(String namespaceUri, String localName) {
+    if (namespaceUri == null || localName == null) {
+      return null;
+    }
+    return new VisitorKey(namespaceUri, localName);
+  }
+
+  private record VisitorKey(String namespaceUri, String localName) {}
+
+  private record IndexedVisitor(int position, DomElementVisitor visitor) {}
+}
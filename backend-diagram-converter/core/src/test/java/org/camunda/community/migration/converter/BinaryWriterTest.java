@@ -0,0 +1,114 @@
+package org.camunda.community.migration.converter;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryWriterTest {
+  private static final String LINK = "https://www.example.com";
+  private static final String MESSAGE_ID = "test-message";
+  private static final String MESSAGE = "Test message";
+  private static final String ELEMENT_ID = "abc.123";
+  private static final String ELEMENT_NAME = "Example;Name";
+  private static final String ELEMENT_TYPE = "userTask";
+  private static final BpmnConverter SERVICE = BpmnConverterFactory.getInstance().get();
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void shouldReadWrittenResults() throws IOException {
+    Path file = tempDir.resolve("results.bin");
+    try (OutputStream out = Files.newOutputStream(file);
+        BpmnDiagramCheckResultSink sink = SERVICE.createBinarySink(out)) {
+      sink.accept(mockDiagramResult("first.bpmn"));
+      sink.accept(mockDiagramResult("second.bpmn"));
+    }
+
+    List<BpmnDiagramCheckResult> results = new ArrayList<>();
+    try (BpmnDiagramCheckResultReader reader = BpmnDiagramCheckResultReader.open(file)) {
+      reader.forEach(results::add);
+    }
+
+    assertThat(results)
+        .extracting(BpmnDiagramCheckResult::getFilename)
+        .containsExactly("first.bpmn", "second.bpmn");
+    BpmnElementCheckResult first = results.get(0).getResult(ELEMENT_ID);
+    assertThat(first.getElementName()).isEqualTo(ELEMENT_NAME);
+    assertThat(first.getElementType()).isEqualTo(ELEMENT_TYPE);
+    assertThat(first.getReferences()).containsExactly("other");
+    assertThat(first.getReferencedBy()).isEmpty();
+    assertThat(first.getMessages())
+        .extracting(
+            BpmnElementCheckMessage::getSeverity,
+            BpmnElementCheckMessage::getId,
+            BpmnElementCheckMessage::getMessage,
+            BpmnElementCheckMessage::getLink)
+        .containsExactly(
+            tuple(Severity.TASK, MESSAGE_ID, MESSAGE, LINK),
+            tuple(Severity.INFO, null, MESSAGE, null));
+    // repeated messages are read once, element ids are literals
+    BpmnElementCheckResult second = results.get(1).getResult(ELEMENT_ID);
+    assertThat(second.getMessages().get(0).getMessage())
+        .isSameAs(first.getMessages().get(0).getMessage());
+    assertThat(second.getElementId()).isEqualTo(ELEMENT_ID).isNotSameAs(first.getElementId());
+  }
+
+  @Test
+  public void shouldKeepSeverityCodes() {
+    assertThat(Severity.values())
+        .extracting(BpmnDiagramCheckResultReader::severityCode)
+        .doesNotHaveDuplicates();
+    assertThat(BpmnDiagramCheckResultReader.severityCode(Severity.WARNING)).isZero();
+    assertThat(BpmnDiagramCheckResultReader.severityCode(Severity.INFO)).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldReadEmptyResults() throws IOException {
+    Path file = tempDir.resolve("empty.bin");
+    SERVICE.createBinarySink(Files.newOutputStream(file)).close();
+    try (BpmnDiagramCheckResultReader reader = BpmnDiagramCheckResultReader.open(file)) {
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  @Test
+  public void shouldRejectOtherFiles() throws IOException {
+    Path file = tempDir.resolve("other.bin");
+    Files.writeString(file, "filename;elementName");
+    assertThatThrownBy(() -> BpmnDiagramCheckResultReader.open(file))
+        .hasRootCauseMessage("Not a results file");
+  }
+
+  private BpmnDiagramCheckResult mockDiagramResult(String filename) {
+    BpmnDiagramCheckResult result = new BpmnDiagramCheckResult();
+    result.setFilename(filename);
+    BpmnElementCheckResult elementResult = new BpmnElementCheckResult();
+    elementResult.setElementId(ELEMENT_ID);
+    elementResult.setElementName(ELEMENT_NAME);
+    elementResult.setElementType(ELEMENT_TYPE);
+    elementResult.getMessages().add(mockMessage(Severity.TASK, MESSAGE_ID, LINK));
+    elementResult.getMessages().add(mockMessage(Severity.INFO, null, null));
+    elementResult.getReferences().add("other");
+    result.addResult(elementResult);
+    return result;
+  }
+
+  private BpmnElementCheckMessage mockMessage(Severity severity, String id, String link) {
+    BpmnElementCheckMessage message = new BpmnElementCheckMessage();
+    message.setSeverity(severity);
+    message.setId(id);
+    message.setMessage(new String(MESSAGE));
+    message.setLink(link);
+    return message;
+  }
+}
@@ -0,0 +1,74 @@
+package org.camunda.community.migration.converter;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
+import org.junit.jupiter.api.Test;
+
+public class BpmnDiagramCheckResultTest {
+
+  @Test
+  void shouldFindAddedResult() {
+    BpmnDiagramCheckResult result = new BpmnDiagramCheckResult();
+    BpmnElementCheckResult task = elementResult("task");
+    BpmnElementCheckResult event = elementResult("event");
+    result.addResult(task);
+    result.addResult(event);
+
+    assertThat(result.getResults()).containsExactly(task, event);
+    assertThat(result.getResult("task")).isSameAs(task);
+    assertThat(result.getResult("event")).isSameAs(event);
+    assertThat(result.getResult("gateway")).isNull();
+  }
+
+  @Test
+  void shouldKeepFirstResultForDuplicateId() {
+    BpmnDiagramCheckResult result = new BpmnDiagramCheckResult();
+    BpmnElementCheckResult first = elementResult("task");
+    result.addResult(first);
+    result.addResult(elementResult("task"));
+
+    assertThat(result.getResults()).hasSize(2);
+    assertThat(result.getResult("task")).isSameAs(first);
+  }
+
+  @Test
+  void shouldReplaceResults() {
+    BpmnDiagramCheckResult result = new BpmnDiagramCheckResult();
+    result.addResult(elementResult("task"));
+    BpmnElementCheckResult event = elementResult("event");
+    result.setResults(List.of(event));
+
+    assertThat(result.getResults()).containsExactly(event);
+    assertThat(result.getResult("task")).isNull();
+    assertThat(result.getResult("event")).isSameAs(event);
+  }
+
+  @Test
+  void shouldFindResultsModifiedInTheList() {
+    BpmnDiagramCheckResult result = new BpmnDiagramCheckResult();
+    BpmnElementCheckResult task = elementResult("task");
+    result.getResults().add(task);
+    assertThat(result.getResult("task")).isSameAs(task);
+
+    BpmnElementCheckResult event = elementResult("event");
+    result.getResults().add(0, event);
+    assertThat(result.getResult("event")).isSameAs(event);
+
+    BpmnElementCheckResult gateway = elementResult("gateway");
+    result.getResults().set(1, gateway);
+    assertThat(result.getResult("task")).isNull();
+    assertThat(result.getResult("gateway")).isSameAs(gateway);
+
+    result.getResults().removeIf(element -> element == event);
+    assertThat(result.getResult("event")).isNull();
+    assertThat(result.getResults()).containsExactly(gateway);
+  }
+
+  private static BpmnElementCheckResult elementResult(String elementId) {
+    BpmnElementCheckResult result = new BpmnElementCheckResult();
+    result.setElementId(elementId);
+    return result;
+  }
+}
@@ -11,6 +11,7 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
@@ -65,6 +66,36 @@ public class CsvWriterTest {
     }
   }
 
+  @Test
+  public void shouldWriteSameCsvWhenStreamingResults() {
+    List<BpmnDiagramCheckResult> results = List.of(mockDiagramResult(), mockDiagramResult());
+    StringWriter expected = new StringWriter();
+    SERVICE.writeCsvFile(results, expected);
+
+    StringWriter writer = new StringWriter();
+    try (BpmnDiagramCheckResultSink sink = SERVICE.createCsvSink(writer)) {
+      sink.accept(results.get(0));
+      assertThat(writer.toString()).contains(MESSAGE);
+      sink.accept(results.get(1));
+    }
+    assertThat(writer.toString()).isEqualTo(expected.toString());
+  }
+
+  @Test
+  public void shouldNotCloseWriter() {
+    AtomicBoolean closed = new AtomicBoolean();
+    StringWriter writer =
+        new StringWriter() {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+    SERVICE.writeCsvFile(mockResults(), writer);
+    assertThat(writer.toString()).contains(MESSAGE);
+    assertThat(closed).isFalse();
+  }
+
   private List<BpmnDiagramCheckResult> mockResults() {
     List<BpmnDiagramCheckResult> results = new ArrayList<>();
     results.add(mockDiagramResult());
@@ -0,0 +1,71 @@
+package org.camunda.community.migration.converter;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.camunda.community.migration.converter.expression.ExpressionTransformationCache;
+import org.camunda.community.migration.converter.expression.ExpressionTransformationResult;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionTransformationCacheTest {
+  private final AtomicInteger transformations = new AtomicInteger();
+  private final Function<String, ExpressionTransformationResult> transformation =
+      expression -> {
+        transformations.incrementAndGet();
+        return new ExpressionTransformationResult(expression, "=" + expression);
+      };
+
+  @Test
+  void shouldReuseResults() {
+    ExpressionTransformationCache cache = new ExpressionTransformationCache(10);
+    ExpressionTransformationResult result = cache.get("${x}", transformation);
+    assertThat(cache.get("${x}", transformation)).isSameAs(result);
+    cache.get("${y}", transformation);
+    assertThat(transformations).hasValue(2);
+    ExpressionTransformationCache.Statistics statistics = cache.getStatistics();
+    assertThat(statistics.hits()).isEqualTo(1);
+    assertThat(statistics.misses()).isEqualTo(2);
+    assertThat(statistics.size()).isEqualTo(2);
+    assertThat(statistics.hitRate()).isEqualTo(1d / 3);
+  }
+
+  @Test
+  void shouldStayWithinMaxSize() {
+    ExpressionTransformationCache cache = new ExpressionTransformationCache(5);
+    for (int i = 0; i < 20; i++) {
+      cache.get("${x" + i + "}", transformation);
+    }
+    assertThat(cache.getStatistics().size()).isEqualTo(5);
+    assertThat(cache.getStatistics().evictions()).isEqualTo(15);
+    cache.setMaxSize(0);
+    cache.get("${x}", transformation);
+    cache.get("${x}", transformation);
+    assertThat(cache.getStatistics().size()).isZero();
+    assertThat(transformations).hasValue(22);
+  }
+
+  @Test
+  void shouldKeepRecentlyUsedResults() {
+    ExpressionTransformationCache cache = new ExpressionTransformationCache(3);
+    ExpressionTransformationResult first = cache.get("${a}", transformation);
+    cache.get("${b}", transformation);
+    cache.get("${c}", transformation);
+    assertThat(cache.get("${a}", transformation)).isSameAs(first);
+    cache.get("${d}", transformation);
+    assertThat(cache.get("${a}", transformation)).isSameAs(first);
+    assertThat(cache.getStatistics().evictions()).isEqualTo(1);
+    cache.get("${b}", transformation);
+    assertThat(transformations).hasValue(5);
+  }
+
+  @Test
+  void shouldShareResultsAcrossTransformations() {
+    ExpressionTransformationResult result =
+        ExpressionTransformer.transform("${execution.getVariable(\"shared\")}");
+    assertThat(ExpressionTransformer.transform("${execution.getVariable(\"shared\")}"))
+        .isSameAs(result);
+    assertThat(ExpressionTransformer.getCache().getStatistics().hits()).isPositive();
+  }
+}
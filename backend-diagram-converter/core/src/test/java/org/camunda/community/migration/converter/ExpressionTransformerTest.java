@@ -67,7 +67,18 @@ public class ExpressionTransformerTest {
                 .hasMethodInvocation(true),
             expression("${input > 5.5}").hasMethodInvocation(false),
             expression("${input != ''}").isMappedTo("=input != \"\""),
-            expression("${input != 'what the F***'}").isMappedTo("=input != \"what the F***\""))
+            expression("${input != 'what the F***'}").isMappedTo("=input != \"what the F***\""),
+            expression("#{x ge 5}").isMappedTo("=x >= 5"),
+            expression("#{x le 5}").isMappedTo("=x <= 5"),
+            expression("#{x&&y}").isMappedTo("=x and y"),
+            expression("${status == 'a}b'}").isMappedTo("=status = \"a}b\""),
+            expression("${execution.getVariable('a') > 5}")
+                .isMappedTo("=a > 5")
+                .hasMethodInvocation(false)
+                .hasUsedExecution(false),
+            expression("${!list.isEmpty() && list[0] == 'x'}")
+                .isMappedTo("=not(list.isEmpty()) and list[1] = \"x\"")
+                .hasMethodInvocation(true))
         .map(
             data ->
                 DynamicContainer.dynamicContainer(
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.*;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckMessage;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.BpmnElementCheckResult;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult.Severity;
@@ -28,6 +29,41 @@ public class MarkdownWriterTest {
     System.out.println(writer.toString());
   }
 
+  @Test
+  public void shouldGroupMessagesBySeverity() {
+    BpmnDiagramCheckResult result = mockDiagramResult();
+    BpmnElementCheckResult elementResult = result.getResults().get(0);
+    elementResult.getMessages().add(0, mockMessage(Severity.INFO, "Info message", null));
+    elementResult.getMessages().add(mockMessage(Severity.WARNING, "Warning message", null));
+    StringWriter writer = new StringWriter();
+    try (BpmnDiagramCheckResultSink sink = SERVICE.createMarkdownSink(writer)) {
+      sink.accept(result);
+    }
+    assertThat(writer.toString())
+        .startsWith("# Conversion Report\n\n## `" + FILENAME + "`\n")
+        .contains(
+            "* WARNING (1)\n  * Warning message\n"
+                + "* TASK (2)\n  * Test message ([more information]("
+                + LINK
+                + "))\n  * Test message\n"
+                + "* INFO (1)\n  * Info message\n");
+  }
+
+  @Test
+  public void shouldNotCloseWriter() {
+    AtomicBoolean closed = new AtomicBoolean();
+    StringWriter writer =
+        new StringWriter() {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+    SERVICE.writeMarkdownFile(mockResults(), writer);
+    assertThat(writer.toString()).contains(MESSAGE);
+    assertThat(closed).isFalse();
+  }
+
   private List<BpmnDiagramCheckResult> mockResults() {
     List<BpmnDiagramCheckResult> results = new ArrayList<>();
     results.add(mockDiagramResult());
@@ -21,6 +21,14 @@ public class MessageFactoryTest {
     assertNotNull(message.getMessage());
   }
 
+  @Test
+  void shouldShareImmutableStaticMessages() {
+    Message message = MessageFactory.inclusiveGatewayJoin();
+    assertThat(MessageFactory.inclusiveGatewayJoin()).isSameAs(message);
+    assertThat(message).isInstanceOf(StaticMessage.class).isNotInstanceOf(ComposedMessage.class);
+    assertThat(message.getId()).isEqualTo("inclusive-gateway-join");
+  }
+
   @Test
   void shouldBuildInclusiveGatewayJoin() {
     Message message = MessageFactory.inclusiveGatewayJoin();
@@ -67,4 +67,27 @@ public class MessageTemplateProcessorTest {
     String message = MESSAGE_TEMPLATE_PROCESSOR.decorate(messageTemplate, context);
     assertEquals("Hello Tim, this is \\$$", message);
   }
+
+  @Test
+  void shouldReplaceVariablesRegardlessOfSpacing() {
+    MessageTemplate messageTemplate =
+        new MessageTemplate(
+            Severity.INFO, null, "{{world}}, {{  world }}!", Collections.singletonList("world"));
+    Map<String, String> context = ContextBuilder.builder().entry("world", "Tim").build();
+    String message = MESSAGE_TEMPLATE_PROCESSOR.decorate(messageTemplate, context);
+    assertEquals("Tim, Tim!", message);
+  }
+
+  @Test
+  void shouldKeepUnknownPlaceholdersAndNotReplaceWithinValues() {
+    MessageTemplate messageTemplate =
+        new MessageTemplate(
+            Severity.INFO,
+            null,
+            "Hello {{ world }}, this is {{ other }}",
+            Collections.singletonList("world"));
+    Map<String, String> context = ContextBuilder.builder().entry("world", "{{ world }}").build();
+    String message = MESSAGE_TEMPLATE_PROCESSOR.decorate(messageTemplate, context);
+    assertEquals("Hello {{ world }}, this is {{ other }}", message);
+  }
 }
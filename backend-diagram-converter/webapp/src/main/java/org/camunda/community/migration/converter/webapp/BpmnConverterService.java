@@ -10,6 +10,8 @@ import org.camunda.community.migration.converter.BpmnConverter;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult;
 import org.camunda.community.migration.converter.ConverterPropertiesFactory;
 import org.camunda.community.migration.converter.DefaultConverterProperties;
+import org.camunda.community.migration.converter.expression.ExpressionTransformationCache.Statistics;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -60,6 +62,10 @@ public class BpmnConverterService {
     }
   }
 
+  public Statistics getExpressionCacheStatistics() {
+    return ExpressionTransformer.getCache().getStatistics();
+  }
+
   public void writeCsvFile(List<BpmnDiagramCheckResult> results, Writer writer) {
     bpmnConverter.writeCsvFile(results, writer);
   }
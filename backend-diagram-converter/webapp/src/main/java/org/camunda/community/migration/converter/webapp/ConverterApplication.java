@@ -4,6 +4,8 @@ import org.camunda.community.migration.converter.BpmnConverter;
 import org.camunda.community.migration.converter.BpmnConverterFactory;
 import org.camunda.community.migration.converter.NotificationService;
 import org.camunda.community.migration.converter.NotificationServiceFactory;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -15,8 +17,11 @@ public class ConverterApplication {
   }
 
   @Bean
-  public BpmnConverter bpmnConverter(NotificationService notificationService) {
+  public BpmnConverter bpmnConverter(
+      NotificationService notificationService,
+      @Value("${converter.expression-cache-size:10000}") int expressionCacheSize) {
     NotificationServiceFactory.getInstance().setInstance(notificationService);
+    ExpressionTransformer.getCache().setMaxSize(expressionCacheSize);
     return BpmnConverterFactory.getInstance().get();
   }
 }
@@ -8,6 +8,7 @@ import java.util.Collections;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult;
+import org.camunda.community.migration.converter.expression.ExpressionTransformationCache.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -115,6 +116,11 @@ public class ConverterController {
     }
   }
 
+  @GetMapping(value = "/expression-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Statistics> getExpressionCacheStatistics() {
+    return ResponseEntity.ok(bpmnConverter.getExpressionCacheStatistics());
+  }
+
   @GetMapping(value = "/version", produces = MediaType.TEXT_PLAIN_VALUE)
   public ResponseEntity<String> getVersion() {
     String implementationVersion = buildProperties.getVersion();
@@ -18,6 +18,8 @@ import java.net.URISyntaxException;
 import java.util.List;
 import org.camunda.bpm.model.xml.instance.DomElement;
 import org.camunda.community.migration.converter.BpmnDiagramCheckResult;
+import org.camunda.community.migration.converter.expression.ExpressionTransformationCache.Statistics;
+import org.camunda.community.migration.converter.expression.ExpressionTransformer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -93,4 +95,17 @@ public class ConverterControllerTest {
     DomElement process = bpmnModelInstance.getDocument().getElementById("Process_11j5dku");
     assertThat(process).isNotNull();
   }
+
+  @Test
+  void shouldReturnExpressionCacheStatistics() {
+    // the server runs in this JVM and shares the cache
+    ExpressionTransformer.transform("${amount > 100}");
+    Statistics statistics =
+        RestAssured.given()
+            .accept(ContentType.JSON)
+            .get("/expression-cache")
+            .getBody()
+            .as(Statistics.class);
+    assertThat(statistics.hits() + statistics.misses()).isPositive();
+  }
 }
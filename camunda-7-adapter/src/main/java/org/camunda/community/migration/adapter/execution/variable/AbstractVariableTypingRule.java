@@ -1,11 +1,18 @@
 package org.camunda.community.migration.adapter.execution.variable;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class AbstractVariableTypingRule implements VariableTypingRule {
   private final Logger LOG = LoggerFactory.getLogger(getClass());
+  // readers for the rule's own object mapper, other mappers are not cached
+  private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
 
   @Override
   public final void handle(VariableTypingContext context) {
@@ -17,11 +24,31 @@ public abstract class AbstractVariableTypingRule implements VariableTypingRule {
           context.getVariableValue().getClass(),
           targetType(context));
       Object newVariableValue =
-          objectMapper(context).convertValue(context.getVariableValue(), targetType(context));
+          convertValue(objectMapper(context), context.getVariableValue(), targetType(context));
       context.setVariableValue(newVariableValue);
     }
   }
 
+  /**
+   * Converts the value like {@link ObjectMapper#convertValue(Object, Class)}, but reuses the {@link
+   * ObjectReader} for the target type if the rule's own {@link #objectMapper()} is used
+   */
+  protected Object convertValue(ObjectMapper objectMapper, Object value, Class<?> targetType) {
+    if (value == null) {
+      return null;
+    }
+    ObjectReader reader =
+        objectMapper == objectMapper()
+            ? readers.computeIfAbsent(targetType, objectMapper::readerFor)
+            : objectMapper.readerFor(targetType);
+    try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+      objectMapper.writeValue(buffer, value);
+      return reader.readValue(buffer.asParser());
+    } catch (IOException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
   protected abstract boolean contextMatches(VariableTypingContext context);
 
   protected Class<?> targetType(VariableTypingContext context) {
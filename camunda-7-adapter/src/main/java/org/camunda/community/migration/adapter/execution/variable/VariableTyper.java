@@ -1,41 +1,142 @@
 package org.camunda.community.migration.adapter.execution.variable;
 
-import static java.util.Optional.*;
-
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.camunda.community.migration.adapter.execution.variable.GlobalVariableTypingRule.SimpleGlobalVariableTypingRule;
+import org.camunda.community.migration.adapter.execution.variable.MultiProcessVariableTypingRule.SimpleMultiProcessVariableTypingRule;
+import org.camunda.community.migration.adapter.execution.variable.SingleProcessVariableTypingRule.SimpleSingleProcessVariableTypingRule;
 import org.camunda.community.migration.adapter.execution.variable.VariableTypingRule.VariableTypingContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Applies the {@link VariableTypingRule}s to the variables of a job. The built-in simple rules are
+ * indexed by the process and variable name they declare, so that only candidate rules are applied
+ * to a variable. All other rules can override how they match and are applied to every variable.
+ */
 @Component
 public class VariableTyper {
   private static final Logger LOG = LoggerFactory.getLogger(VariableTyper.class);
-  private final Set<VariableTypingRule> rules;
+  // their matching cannot be overridden, so they can be indexed
+  private static final Set<Class<?>> INDEXED_RULE_TYPES =
+      Set.of(
+          SimpleGlobalVariableTypingRule.class,
+          SimpleMultiProcessVariableTypingRule.class,
+          SimpleSingleProcessVariableTypingRule.class);
+  private final RuleIndex globalRules;
+  private final Map<String, RuleIndex> processRules = new HashMap<>();
 
   @Autowired
   public VariableTyper(Set<VariableTypingRule> rules) {
-    this.rules = rules;
+    RuleIndex globalRules = new RuleIndex();
+    int position = 0;
+    for (VariableTypingRule rule : rules) {
+      IndexedRule indexedRule = new IndexedRule(position++, rule);
+      if (!INDEXED_RULE_TYPES.contains(rule.getClass())) {
+        globalRules.add(null, indexedRule);
+        continue;
+      }
+      String variableName = ((GlobalVariableTypingRule) rule).variableName();
+      if (rule instanceof MultiProcessVariableTypingRule multiProcessRule) {
+        for (String bpmnProcessId : multiProcessRule.bpmnProcessIds()) {
+          processRules
+              .computeIfAbsent(bpmnProcessId, id -> new RuleIndex())
+              .add(variableName, indexedRule);
+        }
+      } else {
+        globalRules.add(variableName, indexedRule);
+      }
+    }
+    processRules.replaceAll(
+        (bpmnProcessId, processRuleIndex) -> globalRules.merge(processRuleIndex).compile());
+    this.globalRules = globalRules.compile();
   }
 
   public Map<String, Object> typeVariables(String bpmnProcessId, Map<String, Object> variables) {
-    Map<String, Object> result = new HashMap<>();
-    variables.forEach(
-        (variableName, variableValue) -> {
-          LOG.debug("Handling variable {} of process {}", variableName, bpmnProcessId);
-          DefaultVariableTypingContext context =
-              new DefaultVariableTypingContext(bpmnProcessId, variableName, variableValue);
-          rules.forEach(rule -> rule.handle(context));
-          result.put(
-              context.getVariableName(),
-              ofNullable(context.typedVariableValue).orElse(context.variableValue));
-        });
+    RuleIndex rules = processRules.getOrDefault(bpmnProcessId, globalRules);
+    if (rules.isEmpty()) {
+      return variables;
+    }
+    Map<String, Object> result = variables;
+    for (Map.Entry<String, Object> variable : variables.entrySet()) {
+      List<IndexedRule> candidates = rules.getRules(variable.getKey());
+      if (candidates.isEmpty()) {
+        continue;
+      }
+      LOG.debug("Handling variable {} of process {}", variable.getKey(), bpmnProcessId);
+      DefaultVariableTypingContext context =
+          new DefaultVariableTypingContext(bpmnProcessId, variable.getKey(), variable.getValue());
+      candidates.forEach(rule -> rule.rule().handle(context));
+      if (context.typedVariableValue != null) {
+        if (result == variables) {
+          result = new HashMap<>(variables);
+        }
+        result.put(context.getVariableName(), context.typedVariableValue);
+      }
+    }
     return result;
   }
 
+  private static class RuleIndex {
+    private final Map<String, List<IndexedRule>> variableRules = new HashMap<>();
+    private final List<IndexedRule> anyVariableRules = new ArrayList<>();
+
+    private void add(String variableName, IndexedRule rule) {
+      if (variableName == null) {
+        anyVariableRules.add(rule);
+      } else {
+        variableRules.computeIfAbsent(variableName, name -> new ArrayList<>()).add(rule);
+      }
+    }
+
+    private RuleIndex merge(RuleIndex other) {
+      RuleIndex merged = new RuleIndex();
+      merged.anyVariableRules.addAll(anyVariableRules);
+      merged.anyVariableRules.addAll(other.anyVariableRules);
+      merged.anyVariableRules.sort(Comparator.comparingInt(IndexedRule::position));
+      Set<String> variableNames = new HashSet<>(variableRules.keySet());
+      variableNames.addAll(other.variableRules.keySet());
+      for (String variableName : variableNames) {
+        List<IndexedRule> rules = new ArrayList<>();
+        rules.addAll(variableRules.getOrDefault(variableName, List.of()));
+        rules.addAll(other.variableRules.getOrDefault(variableName, List.of()));
+        rules.sort(Comparator.comparingInt(IndexedRule::position));
+        merged.variableRules.put(variableName, rules);
+      }
+      return merged;
+    }
+
+    private RuleIndex compile() {
+      RuleIndex compiled = new RuleIndex();
+      compiled.anyVariableRules.addAll(anyVariableRules);
+      variableRules.forEach(
+          (variableName, rules) -> {
+            List<IndexedRule> candidates = new ArrayList<>(rules);
+            candidates.addAll(anyVariableRules);
+            candidates.sort(Comparator.comparingInt(IndexedRule::position));
+            compiled.variableRules.put(variableName, candidates);
+          });
+      return compiled;
+    }
+
+    private List<IndexedRule> getRules(String variableName) {
+      return variableRules.getOrDefault(variableName, anyVariableRules);
+    }
+
+    private boolean isEmpty() {
+      return variableRules.isEmpty() && anyVariableRules.isEmpty();
+    }
+  }
+
+  private record IndexedRule(int position, VariableTypingRule rule) {}
+
   public static class DefaultVariableTypingContext implements VariableTypingContext {
     private final String bpmnProcessId;
     private final String variableName;
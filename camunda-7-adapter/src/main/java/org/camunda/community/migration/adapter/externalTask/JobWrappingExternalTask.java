@@ -13,6 +13,9 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 public class JobWrappingExternalTask implements ExternalTask {
   private final ActivatedJob job;
   private final Optional<String> businessKeyVariableName;
+  // the job variables are decoded on first access and reused afterwards
+  private Map<String, Object> variables;
+  private VariableMap variablesTyped;
 
   public JobWrappingExternalTask(ActivatedJob job, Optional<String> businessKeyVariableName) {
     this.job = job;
@@ -106,7 +109,7 @@ public class JobWrappingExternalTask implements ExternalTask {
 
   @Override
   public <T> T getVariable(String s) {
-    return (T) job.getVariablesAsMap().get(s);
+    return (T) getAllVariables().get(s);
   }
 
   @Override
@@ -121,12 +124,18 @@ public class JobWrappingExternalTask implements ExternalTask {
 
   @Override
   public Map<String, Object> getAllVariables() {
-    return job.getVariablesAsMap();
+    if (variables == null) {
+      variables = job.getVariablesAsMap();
+    }
+    return variables;
   }
 
   @Override
   public VariableMap getAllVariablesTyped() {
-    return new VariableMapImpl(job.getVariablesAsMap());
+    if (variablesTyped == null) {
+      variablesTyped = new VariableMapImpl(getAllVariables());
+    }
+    return variablesTyped;
   }
 
   @Override
@@ -1,30 +1,50 @@
 package org.camunda.community.migration.adapter.juel;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.camunda.bpm.engine.ArtifactFactory;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.stereotype.Component;
 
 /**
  * This wraps the access to {@link ClassLoader} and {@link ArtifactFactory} for loading of {@link
  * org.camunda.bpm.engine.delegate.ExecutionListener} and {@link
  * org.camunda.bpm.engine.delegate.JavaDelegate} by FQN String.
+ *
+ * <p>Loaded classes are cached by name. Like in Camunda 7, a new instance is created for every
+ * invocation. Only classes listed in <code>camunda.adapter.shared-delegates</code> are instantiated
+ * once and shared by all invocations, unless they are Spring beans that are not singletons. Shared
+ * instances are dropped when the owning application context is refreshed.
  */
 @Component
-public class ClassResolver {
+public class ClassResolver implements ApplicationListener<ContextRefreshedEvent> {
 
   private final ArtifactFactory artifactFactory;
+  private final ApplicationContext applicationContext;
+  private final Set<String> sharedDelegates;
+  private final Map<String, ResolvedClass> classes = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
 
-  public ClassResolver(ArtifactFactory artifactFactory) {
+  public ClassResolver(
+      ArtifactFactory artifactFactory,
+      ApplicationContext applicationContext,
+      @Value("${camunda.adapter.shared-delegates:}") Set<String> sharedDelegates) {
     this.artifactFactory = artifactFactory;
+    this.applicationContext = applicationContext;
+    this.sharedDelegates = sharedDelegates;
   }
 
   public JavaDelegate loadJavaDelegate(String delegateName) {
-    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
     try {
-      Class<? extends JavaDelegate> clazz =
-          (Class<? extends JavaDelegate>) contextClassLoader.loadClass(delegateName);
-      return artifactFactory.getArtifact(clazz);
+      return load(delegateName, JavaDelegate.class);
     } catch (Exception e) {
       throw new RuntimeException(
           "Could not load delegation class '" + delegateName + "': " + e.getMessage(), e);
@@ -32,14 +52,49 @@ public class ClassResolver {
   }
 
   public ExecutionListener loadExecutionListener(String listenerName) {
-    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
     try {
-      Class<? extends ExecutionListener> clazz =
-          (Class<? extends ExecutionListener>) contextClassLoader.loadClass(listenerName);
-      return artifactFactory.getArtifact(clazz);
+      return load(listenerName, ExecutionListener.class);
     } catch (Exception e) {
       throw new RuntimeException(
           "Could not load listener class '" + listenerName + "': " + e.getMessage(), e);
     }
   }
+
+  @Override
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+    // refreshes of child contexts do not affect the beans of the owning context
+    if (event.getApplicationContext() == applicationContext) {
+      instances.clear();
+    }
+  }
+
+  private <T> T load(String className, Class<T> type) {
+    // resolved and instantiated atomically, concurrent invocations share the same instance
+    ResolvedClass resolvedClass = classes.computeIfAbsent(className, this::resolve);
+    if (!resolvedClass.cacheable()) {
+      return type.cast(artifactFactory.getArtifact(resolvedClass.clazz()));
+    }
+    return type.cast(
+        instances.computeIfAbsent(resolvedClass.clazz(), artifactFactory::getArtifact));
+  }
+
+  private ResolvedClass resolve(String className) {
+    try {
+      Class<?> clazz = Thread.currentThread().getContextClassLoader().loadClass(className);
+      return new ResolvedClass(clazz, isCacheable(clazz));
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
+  private boolean isCacheable(Class<?> clazz) {
+    if (!sharedDelegates.contains(clazz.getName())) {
+      return false;
+    }
+    return Arrays.stream(
+            BeanFactoryUtils.beanNamesForTypeIncludingAncestors(applicationContext, clazz))
+        .allMatch(applicationContext::isSingleton);
+  }
+
+  private record ResolvedClass(Class<?> clazz, boolean cacheable) {}
 }
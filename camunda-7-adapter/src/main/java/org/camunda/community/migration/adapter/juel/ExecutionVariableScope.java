@@ -0,0 +1,186 @@
+package org.camunda.community.migration.adapter.juel;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * VariableScope for expression evaluation that reads from and writes to a {@link DelegateExecution}
+ * without copying its variables. In addition, the execution itself is exposed as variable <code>
+ * execution</code>, as (in C7) we can use juel like <code>${execution.xxx()}
+ * </code>.
+ */
+public class ExecutionVariableScope implements VariableScope {
+  public static final String EXECUTION_KEY = "execution";
+
+  private final DelegateExecution execution;
+
+  public ExecutionVariableScope(DelegateExecution execution) {
+    this.execution = execution;
+  }
+
+  @Override
+  public String getVariableScopeKey() {
+    return execution.getVariableScopeKey();
+  }
+
+  @Override
+  public Map<String, Object> getVariables() {
+    return execution.getVariables();
+  }
+
+  @Override
+  public VariableMap getVariablesTyped() {
+    return execution.getVariablesTyped();
+  }
+
+  @Override
+  public VariableMap getVariablesTyped(boolean deserializeValues) {
+    return execution.getVariablesTyped(deserializeValues);
+  }
+
+  @Override
+  public Map<String, Object> getVariablesLocal() {
+    return execution.getVariablesLocal();
+  }
+
+  @Override
+  public VariableMap getVariablesLocalTyped() {
+    return execution.getVariablesLocalTyped();
+  }
+
+  @Override
+  public VariableMap getVariablesLocalTyped(boolean deserializeValues) {
+    return execution.getVariablesLocalTyped(deserializeValues);
+  }
+
+  @Override
+  public Object getVariable(String variableName) {
+    if (isExecutionKey(variableName)) {
+      return execution;
+    }
+    return execution.getVariable(variableName);
+  }
+
+  @Override
+  public Object getVariableLocal(String variableName) {
+    if (isExecutionKey(variableName)) {
+      return execution;
+    }
+    return execution.getVariableLocal(variableName);
+  }
+
+  @Override
+  public <T extends TypedValue> T getVariableTyped(String variableName) {
+    return execution.getVariableTyped(variableName);
+  }
+
+  @Override
+  public <T extends TypedValue> T getVariableTyped(String variableName, boolean deserializeValue) {
+    return execution.getVariableTyped(variableName, deserializeValue);
+  }
+
+  @Override
+  public <T extends TypedValue> T getVariableLocalTyped(String variableName) {
+    return execution.getVariableLocalTyped(variableName);
+  }
+
+  @Override
+  public <T extends TypedValue> T getVariableLocalTyped(
+      String variableName, boolean deserializeValue) {
+    return execution.getVariableLocalTyped(variableName, deserializeValue);
+  }
+
+  @Override
+  public Set<String> getVariableNames() {
+    Set<String> variableNames = new HashSet<>(execution.getVariableNames());
+    variableNames.add(EXECUTION_KEY);
+    return variableNames;
+  }
+
+  @Override
+  public Set<String> getVariableNamesLocal() {
+    Set<String> variableNames = new HashSet<>(execution.getVariableNamesLocal());
+    variableNames.add(EXECUTION_KEY);
+    return variableNames;
+  }
+
+  @Override
+  public void setVariable(String variableName, Object value) {
+    execution.setVariable(variableName, value);
+  }
+
+  @Override
+  public void setVariableLocal(String variableName, Object value) {
+    execution.setVariableLocal(variableName, value);
+  }
+
+  @Override
+  public void setVariables(Map<String, ? extends Object> variables) {
+    execution.setVariables(variables);
+  }
+
+  @Override
+  public void setVariablesLocal(Map<String, ? extends Object> variables) {
+    execution.setVariablesLocal(variables);
+  }
+
+  @Override
+  public boolean hasVariables() {
+    return true;
+  }
+
+  @Override
+  public boolean hasVariablesLocal() {
+    return true;
+  }
+
+  @Override
+  public boolean hasVariable(String variableName) {
+    return isExecutionKey(variableName) || execution.hasVariable(variableName);
+  }
+
+  @Override
+  public boolean hasVariableLocal(String variableName) {
+    return isExecutionKey(variableName) || execution.hasVariableLocal(variableName);
+  }
+
+  @Override
+  public void removeVariable(String variableName) {
+    execution.removeVariable(variableName);
+  }
+
+  @Override
+  public void removeVariableLocal(String variableName) {
+    execution.removeVariableLocal(variableName);
+  }
+
+  @Override
+  public void removeVariables(Collection<String> variableNames) {
+    execution.removeVariables(variableNames);
+  }
+
+  @Override
+  public void removeVariablesLocal(Collection<String> variableNames) {
+    execution.removeVariablesLocal(variableNames);
+  }
+
+  @Override
+  public void removeVariables() {
+    execution.removeVariables();
+  }
+
+  @Override
+  public void removeVariablesLocal() {
+    execution.removeVariablesLocal();
+  }
+
+  private static boolean isExecutionKey(String variableName) {
+    return EXECUTION_KEY.equals(variableName);
+  }
+}
@@ -1,39 +1,84 @@
 package org.camunda.community.migration.adapter.juel;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
-import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
 import org.camunda.bpm.impl.juel.jakarta.el.ELContext;
 import org.camunda.bpm.impl.juel.jakarta.el.ExpressionFactory;
 import org.camunda.bpm.impl.juel.jakarta.el.ValueExpression;
-import org.camunda.community.migration.adapter.execution.SimpleVariableScope;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Evaluates JUEL expressions against a {@link DelegateExecution}. Parsed expressions are kept in a
+ * bounded least-recently-used cache keyed by the expression text.
+ */
 @Component
 public class JuelExpressionResolver {
+  public static final int DEFAULT_CACHE_SIZE = 1000;
 
   private final JuelExpressionManager expressionManager;
   private final ExpressionFactory expressionFactory;
   private final ELContext elContext;
+  private final Map<String, EnginelessJuelExpression> expressionCache;
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
 
   public JuelExpressionResolver(
       JuelExpressionManager expressionManager,
       ExpressionFactory expressionFactory,
-      ELContext elContext) {
+      ELContext elContext,
+      @Value("${camunda.adapter.expression-cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize) {
     this.expressionManager = expressionManager;
     this.elContext = elContext;
     this.expressionFactory = expressionFactory;
+    this.expressionCache = Collections.synchronizedMap(new LruCache(cacheSize));
   }
 
   public Object evaluate(String expressionString, DelegateExecution execution) {
+    return getExpression(expressionString).getValue(new ExecutionVariableScope(execution));
+  }
+
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  public int getCacheSize() {
+    return expressionCache.size();
+  }
+
+  private EnginelessJuelExpression getExpression(String expressionString) {
+    EnginelessJuelExpression expression = expressionCache.get(expressionString);
+    if (expression != null) {
+      cacheHits.increment();
+      return expression;
+    }
+    cacheMisses.increment();
     ValueExpression valueExpression =
         expressionFactory.createValueExpression(elContext, expressionString, Object.class);
+    expression = new EnginelessJuelExpression(valueExpression, expressionManager, expressionString);
+    expressionCache.put(expressionString, expression);
+    return expression;
+  }
+
+  private static class LruCache extends LinkedHashMap<String, EnginelessJuelExpression> {
+    private final int maxSize;
 
-    // required because (in C7) we can use juel like `${execution.xxx()}`
-    VariableScope variableScope = new SimpleVariableScope(execution.getVariables());
-    variableScope.setVariable("execution", execution);
+    private LruCache(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
 
-    return new EnginelessJuelExpression(valueExpression, expressionManager, expressionString)
-        .getValue(variableScope);
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, EnginelessJuelExpression> eldest) {
+      return size() > maxSize;
+    }
   }
 }
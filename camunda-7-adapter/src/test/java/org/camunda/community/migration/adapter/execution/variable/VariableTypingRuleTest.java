@@ -12,6 +12,7 @@ import org.camunda.community.migration.adapter.VariableDto;
 import org.camunda.community.migration.adapter.execution.variable.GlobalVariableTypingRule.SimpleGlobalVariableTypingRule;
 import org.camunda.community.migration.adapter.execution.variable.MultiProcessVariableTypingRule.SimpleMultiProcessVariableTypingRule;
 import org.camunda.community.migration.adapter.execution.variable.SingleProcessVariableTypingRule.SimpleSingleProcessVariableTypingRule;
+import org.camunda.community.migration.adapter.execution.variable.VariableTypingRule.VariableTypingContext;
 import org.junit.jupiter.api.Test;
 
 public class VariableTypingRuleTest {
@@ -88,4 +89,58 @@ public class VariableTypingRuleTest {
         .extracting(v -> v.get("varName"))
         .isInstanceOf(VariableDto.class);
   }
+
+  @Test
+  void shouldPassThroughUntypedVariables() {
+    VariableTypingRule singleProcessRule =
+        new SimpleSingleProcessVariableTypingRule(
+            "foo", "varName", new ObjectMapper(), VariableDto.class);
+    VariableTyper variableTyper = new VariableTyper(Collections.singleton(singleProcessRule));
+    Map<String, Object> variables = testVariables("abc");
+    assertThat(variableTyper.typeVariables("any", variables)).isSameAs(variables);
+    assertThat(variableTyper.typeVariables("foo", variables))
+        .isNotSameAs(variables)
+        .containsEntry("varName2", "123");
+    assertThat(variables.get("varName")).isInstanceOf(Map.class);
+  }
+
+  @Test
+  void shouldApplyCustomRulesToEveryVariable() {
+    Set<String> handledVariables = new HashSet<>();
+    VariableTypingRule customRule = context -> handledVariables.add(context.getVariableName());
+    VariableTyper variableTyper = new VariableTyper(Collections.singleton(customRule));
+    variableTyper.typeVariables("any", testVariables("abc"));
+    assertThat(handledVariables).containsExactlyInAnyOrder("varName", "varName2");
+  }
+
+  @Test
+  void shouldApplyRulesWithCustomMatchingToEveryVariable() {
+    VariableTypingRule customRule =
+        new SimpleSingleProcessVariableTypingRule(
+            "foo", "varName", new ObjectMapper(), Integer.class) {
+          @Override
+          protected boolean contextMatches(VariableTypingContext context) {
+            return context.getVariableName().equals("varName2");
+          }
+        };
+    VariableTyper variableTyper = new VariableTyper(Collections.singleton(customRule));
+    Map<String, Object> typedVariables = variableTyper.typeVariables("any", testVariables("abc"));
+    assertThat(typedVariables.get("varName")).isInstanceOf(Map.class);
+    assertThat(typedVariables.get("varName2")).isEqualTo(123);
+  }
+
+  @Test
+  void shouldDetectMultipleTypings() {
+    Set<VariableTypingRule> rules = new HashSet<>();
+    rules.add(new SimpleGlobalVariableTypingRule("varName", new ObjectMapper(), VariableDto.class));
+    rules.add(
+        new SimpleSingleProcessVariableTypingRule(
+            "foo", "varName", new ObjectMapper(), VariableDto.class));
+    VariableTyper variableTyper = new VariableTyper(rules);
+    assertThat(variableTyper.typeVariables("any", testVariables("abc")).get("varName"))
+        .isInstanceOf(VariableDto.class);
+    assertThatThrownBy(() -> variableTyper.typeVariables("foo", testVariables("abc")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Multiple typings detected for variable varName on process foo");
+  }
 }
@@ -218,6 +218,21 @@ public class JobWrappingExternalTaskTest {
     assertThat(allVariablesTyped).isEqualTo(variables());
   }
 
+  @Test
+  public void testVariablesDecodedOnce() {
+    when(job.getVariablesAsMap()).thenReturn(variables());
+    variables().keySet().forEach(externalTask::getVariable);
+    variables().keySet().forEach(externalTask::getVariableTyped);
+    externalTask.getAllVariablesTyped();
+    verify(job, times(1)).getVariablesAsMap();
+  }
+
+  @Test
+  public void testVariablesDecodedLazily() {
+    externalTask.getId();
+    verify(job, never()).getVariablesAsMap();
+  }
+
   @Test
   public void testBusinessKey() {
     when(job.getVariablesAsMap()).thenReturn(variables());
@@ -0,0 +1,126 @@
+package org.camunda.community.migration.adapter.juel;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.camunda.bpm.engine.ArtifactFactory;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.DefaultArtifactFactory;
+import org.camunda.bpm.engine.spring.SpringArtifactFactory;
+import org.camunda.community.migration.adapter.SampleDelegate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+class ClassResolverTest {
+  private static final String DELEGATE = SampleDelegate.class.getName();
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final GenericApplicationContext context = new GenericApplicationContext();
+  private final ArtifactFactory artifactFactory =
+      new ArtifactFactory() {
+        private final ArtifactFactory delegate = new DefaultArtifactFactory();
+
+        @Override
+        public <T> T getArtifact(Class<T> clazz) {
+          created.incrementAndGet();
+          return delegate.getArtifact(clazz);
+        }
+      };
+
+  @BeforeEach
+  void setup() {
+    context.refresh();
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  @Test
+  void shouldCreateDelegatePerInvocationByDefault() {
+    ClassResolver resolver = new ClassResolver(artifactFactory, context, Set.of());
+    JavaDelegate delegate = resolver.loadJavaDelegate(DELEGATE);
+    assertThat(resolver.loadJavaDelegate(DELEGATE))
+        .isNotSameAs(delegate)
+        .isInstanceOf(SampleDelegate.class);
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  void shouldShareConfiguredDelegate() {
+    ClassResolver resolver = new ClassResolver(artifactFactory, context, Set.of(DELEGATE));
+    JavaDelegate delegate = resolver.loadJavaDelegate(DELEGATE);
+    assertThat(resolver.loadJavaDelegate(DELEGATE)).isSameAs(delegate);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  void shouldShareConfiguredDelegateBetweenConcurrentInvocations() {
+    ClassResolver resolver = new ClassResolver(artifactFactory, context, Set.of(DELEGATE));
+    List<JavaDelegate> delegates =
+        IntStream.range(0, 64)
+            .parallel()
+            .mapToObj(i -> resolver.loadJavaDelegate(DELEGATE))
+            .distinct()
+            .toList();
+    assertThat(delegates).hasSize(1);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  void shouldNotSharePrototypeBean() {
+    try (GenericApplicationContext beanContext = new GenericApplicationContext(context)) {
+      beanContext.registerBean(
+          SampleDelegate.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+      beanContext.refresh();
+      ClassResolver resolver =
+          new ClassResolver(new SpringArtifactFactory(beanContext), beanContext, Set.of(DELEGATE));
+      JavaDelegate delegate = resolver.loadJavaDelegate(DELEGATE);
+      assertThat(resolver.loadJavaDelegate(DELEGATE)).isNotSameAs(delegate);
+    }
+  }
+
+  @Test
+  void shouldNotSharePrototypeBeanOfParentContext() {
+    try (GenericApplicationContext parent = new GenericApplicationContext();
+        GenericApplicationContext child = new GenericApplicationContext(parent)) {
+      parent.registerBean(SampleDelegate.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+      parent.refresh();
+      child.refresh();
+      ClassResolver resolver =
+          new ClassResolver(new SpringArtifactFactory(child), child, Set.of(DELEGATE));
+      JavaDelegate delegate = resolver.loadJavaDelegate(DELEGATE);
+      assertThat(resolver.loadJavaDelegate(DELEGATE)).isNotSameAs(delegate);
+    }
+  }
+
+  @Test
+  void shouldDropSharedInstancesOnlyOnRefreshOfOwnContext() {
+    ClassResolver resolver = new ClassResolver(artifactFactory, context, Set.of(DELEGATE));
+    JavaDelegate delegate = resolver.loadJavaDelegate(DELEGATE);
+    try (GenericApplicationContext child = new GenericApplicationContext(context)) {
+      child.refresh();
+      resolver.onApplicationEvent(new ContextRefreshedEvent(child));
+      assertThat(resolver.loadJavaDelegate(DELEGATE)).isSameAs(delegate);
+    }
+    resolver.onApplicationEvent(new ContextRefreshedEvent(context));
+    assertThat(resolver.loadJavaDelegate(DELEGATE)).isNotSameAs(delegate);
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  void shouldFailForUnknownClass() {
+    ClassResolver resolver = new ClassResolver(artifactFactory, context, Set.of());
+    assertThatThrownBy(() -> resolver.loadJavaDelegate("org.example.Unknown"))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Could not load delegation class 'org.example.Unknown'");
+  }
+}
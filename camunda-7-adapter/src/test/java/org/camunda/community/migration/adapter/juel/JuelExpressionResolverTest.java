@@ -0,0 +1,68 @@
+package org.camunda.community.migration.adapter.juel;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import java.util.Collections;
+import java.util.Map;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.SimpleContext;
+import org.camunda.community.migration.adapter.execution.ZeebeJobDelegateExecution;
+import org.camunda.community.migration.adapter.execution.variable.VariableTyper;
+import org.junit.jupiter.api.Test;
+
+class JuelExpressionResolverTest {
+  private final JuelExpressionResolver resolver =
+      new JuelExpressionResolver(
+          new JuelExpressionManager(), new ExpressionFactoryImpl(), new SimpleContext(), 2);
+
+  @Test
+  void shouldEvaluateAgainstExecution() {
+    DelegateExecution execution = execution(Map.of("amount", 5));
+    assertThat(resolver.evaluate("${amount * 2}", execution)).isEqualTo(10L);
+    assertThat(resolver.evaluate("${execution.getVariable('amount')}", execution)).isEqualTo(5);
+    assertThat(resolver.evaluate("${execution.processInstanceId}", execution)).isEqualTo("42");
+  }
+
+  @Test
+  void shouldSeeVariablesSetOnExecution() {
+    DelegateExecution execution = execution(Map.of("amount", 5));
+    resolver.evaluate("${execution.setVariable('amount', 7)}", execution);
+    assertThat(resolver.evaluate("${amount}", execution)).isEqualTo(7L);
+    assertThat(execution.hasVariable("execution")).isFalse();
+  }
+
+  @Test
+  void shouldCacheParsedExpressions() {
+    DelegateExecution execution = execution(Map.of("amount", 5));
+    resolver.evaluate("${amount}", execution);
+    resolver.evaluate("${amount}", execution);
+    resolver.evaluate("${amount + 1}", execution);
+    assertThat(resolver.getCacheHits()).isEqualTo(1);
+    assertThat(resolver.getCacheMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedExpression() {
+    DelegateExecution execution = execution(Map.of("amount", 5));
+    resolver.evaluate("${amount}", execution);
+    resolver.evaluate("${amount + 1}", execution);
+    resolver.evaluate("${amount}", execution);
+    resolver.evaluate("${amount + 2}", execution);
+    resolver.evaluate("${amount}", execution);
+    assertThat(resolver.getCacheSize()).isEqualTo(2);
+    assertThat(resolver.getCacheHits()).isEqualTo(2);
+    resolver.evaluate("${amount + 1}", execution);
+    assertThat(resolver.getCacheMisses()).isEqualTo(4);
+  }
+
+  private static DelegateExecution execution(Map<String, Object> variables) {
+    ActivatedJob job = mock(ActivatedJob.class);
+    when(job.getVariablesAsMap()).thenReturn(variables);
+    when(job.getProcessInstanceKey()).thenReturn(42L);
+    return new ZeebeJobDelegateExecution(job, new VariableTyper(Collections.emptySet()));
+  }
+}
@@ -5,8 +5,8 @@ import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ViolationHandler;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass;
 import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass.CodeMigrationReportForRule;
 
@@ -21,8 +21,8 @@ public abstract class AbstractCodeMigrationReportDecoratingViolationHandler<T>
     this.archRule = archRule;
   }
 
-  private JavaClass getFileClass(JavaClass clazz) {
-    return clazz.getEnclosingClass().map(this::getFileClass).orElse(clazz);
+  static JavaClass getFileClass(JavaClass clazz) {
+    return clazz.getEnclosingClass().map(c -> getFileClass(c)).orElse(clazz);
   }
 
   @Override
@@ -30,21 +30,27 @@ public abstract class AbstractCodeMigrationReportDecoratingViolationHandler<T>
     violatingObjects.forEach(
         violatingObject -> {
           if (handledClass().isAssignableFrom(violatingObject.getClass())) {
-            CodeMigrationReportForClass codeMigrationReportForClass =
-                codeMigrationReport
-                    .classes()
-                    .computeIfAbsent(
-                        getFileClass(extractJavaClass(violatingObject)).getFullName(),
-                        c -> new CodeMigrationReportForClass(new HashMap<>()));
-            List<CodeMigrationReportForRule> codeMigrationReportForRules =
-                codeMigrationReportForClass
-                    .rules()
-                    .computeIfAbsent(archRule.getDescription(), c -> new ArrayList<>());
-            codeMigrationReportForRules.add(new CodeMigrationReportForRule(message));
+            handle(violatingObject, message);
           }
         });
   }
 
+  public void handle(T violatingObject, String message) {
+    // rules may be evaluated concurrently, but all violations of one class for one rule are
+    // reported by the same evaluation
+    CodeMigrationReportForClass codeMigrationReportForClass =
+        codeMigrationReport
+            .classes()
+            .computeIfAbsent(
+                getFileClass(extractJavaClass(violatingObject)).getFullName(),
+                c -> new CodeMigrationReportForClass(new ConcurrentHashMap<>()));
+    List<CodeMigrationReportForRule> codeMigrationReportForRules =
+        codeMigrationReportForClass
+            .rules()
+            .computeIfAbsent(archRule.getDescription(), c -> new ArrayList<>());
+    codeMigrationReportForRules.add(new CodeMigrationReportForRule(message));
+  }
+
   protected abstract JavaClass extractJavaClass(T violatingObject);
 
   protected abstract Class<T> handledClass();
@@ -1,52 +1,226 @@
 package org.camunda.community.migration.detector.rules;
 
+import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.domain.JavaMethod;
-import com.tngtech.archunit.core.domain.JavaMethodCall;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.EvaluationResult;
-import com.tngtech.archunit.lang.ViolationHandler;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass;
+import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass.CodeMigrationReportForRule;
+import org.camunda.community.migration.detector.rules.CodeMigrationReportCache.CachedClass;
 
 public class CodeMigrationReportBuilder {
   private final JavaClasses javaClasses;
-  private final CodeMigrationReport codeMigrationReport = new CodeMigrationReport(new HashMap<>());
+  private final CodeMigrationReport codeMigrationReport =
+      new CodeMigrationReport(new ConcurrentHashMap<>());
   private final AtomicBoolean built = new AtomicBoolean(false);
+  private final List<CompletableFuture<Void>> evaluations = new ArrayList<>();
+  private final Set<String> rules = new LinkedHashSet<>();
+  private final Set<String> cachedRules = new LinkedHashSet<>();
+  private final Map<JavaClasses, List<JavaClasses>> partitions = new HashMap<>();
+  private int parallelism;
+  private ExecutorService executor;
+  private Path cacheFile;
+  private CodeMigrationReportCache cache;
+  private Map<String, String> fingerprints;
+  private Set<String> changedClasses;
+  private JavaClasses changedJavaClasses;
 
   public CodeMigrationReportBuilder(JavaClasses javaClasses) {
     this.javaClasses = javaClasses;
   }
 
+  /**
+   * Evaluates the rules added afterwards concurrently. The classes are split into as many
+   * partitions as threads, nested classes stay in the partition of their file class. Each rule is
+   * evaluated on each partition, {@link #build()} waits for all evaluations.
+   *
+   * <p>A partition might not contain any class a rule applies to, so the rules are evaluated with
+   * {@link ArchRule#allowEmptyShould(boolean)}.
+   *
+   * @param parallelism the number of threads
+   * @return this builder
+   */
+  public CodeMigrationReportBuilder withParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive, was " + parallelism);
+    }
+    if (executor != null) {
+      throw new IllegalStateException("Parallelism has already been set");
+    }
+    this.parallelism = parallelism;
+    executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              Thread thread = new Thread(runnable, "code-migration-report");
+              thread.setDaemon(true);
+              return thread;
+            });
+    return this;
+  }
+
+  /**
+   * Reuses the results of the previous run stored in the cache file. Rules that have been evaluated
+   * in the previous run are only evaluated on classes whose fingerprint changed, the cached
+   * violations of all other classes are added on {@link #build()}. Afterwards, the results of this
+   * run are written to the cache file.
+   *
+   * @param cacheFile the file to read the previous results from and to write the results to
+   * @return this builder
+   */
+  public CodeMigrationReportBuilder withCache(Path cacheFile) {
+    if (!rules.isEmpty()) {
+      throw new IllegalStateException("The cache has to be set before adding rules");
+    }
+    this.cacheFile = cacheFile;
+    cache = CodeMigrationReportCache.read(cacheFile);
+    fingerprints = CodeMigrationReportCache.fingerprints(javaClasses);
+    changedClasses =
+        fingerprints.entrySet().stream()
+            .filter(entry -> !isUnchanged(entry.getKey()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+    changedJavaClasses =
+        javaClasses.that(
+            DescribedPredicate.describe(
+                "changed since the last run",
+                (JavaClass javaClass) ->
+                    changedClasses.contains(
+                        AbstractCodeMigrationReportDecoratingViolationHandler.getFileClass(
+                                javaClass)
+                            .getFullName())));
+    return this;
+  }
+
   public CodeMigrationReportBuilder withArchRule(ArchRule archRule) {
-    EvaluationResult evaluationResult = archRule.evaluate(javaClasses);
-    getViolationHandlers(archRule)
-        .forEach(violationHandler -> evaluationResult.handleViolations(violationHandler));
+    rules.add(archRule.getDescription());
+    JavaClasses classes = javaClasses;
+    ArchRule evaluatedRule = archRule;
+    if (cache != null && cache.containsRule(archRule.getDescription())) {
+      cachedRules.add(archRule.getDescription());
+      classes = changedJavaClasses;
+      evaluatedRule = archRule.allowEmptyShould(true);
+    }
+    if (executor == null) {
+      handleViolations(archRule, evaluatedRule.evaluate(classes));
+      return this;
+    }
+    ArchRule partitionRule = archRule.allowEmptyShould(true);
+    for (JavaClasses partition :
+        partitions.computeIfAbsent(classes, c -> partition(c, parallelism))) {
+      evaluations.add(
+          CompletableFuture.runAsync(
+              () -> handleViolations(archRule, partitionRule.evaluate(partition)), executor));
+    }
     return this;
   }
 
   public CodeMigrationReport build() {
+    if (built.compareAndSet(false, true)) {
+      awaitEvaluations();
+      if (cache != null) {
+        addCachedViolations();
+        writeCache();
+      }
+    }
     return codeMigrationReport;
   }
 
-  private Set<ViolationHandler<?>> getViolationHandlers(ArchRule archRule) {
-    return Set.of(
-        javaClassViolationHandler(archRule),
-        javaMethodViolationHandler(archRule),
-        javaMethodCallViolationHandler(archRule));
+  private void awaitEvaluations() {
+    if (executor != null) {
+      try {
+        CompletableFuture.allOf(evaluations.toArray(CompletableFuture[]::new)).join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  private boolean isUnchanged(String className) {
+    CachedClass cachedClass = cache.get(className);
+    return cachedClass != null && cachedClass.fingerprint().equals(fingerprints.get(className));
+  }
+
+  private void addCachedViolations() {
+    fingerprints.keySet().stream()
+        .filter(className -> !changedClasses.contains(className))
+        .forEach(
+            className ->
+                cachedRules.forEach(
+                    rule -> {
+                      List<CodeMigrationReportForRule> violations =
+                          cache.get(className).report().rules().get(rule);
+                      if (violations != null) {
+                        codeMigrationReport
+                            .classes()
+                            .computeIfAbsent(
+                                className,
+                                c -> new CodeMigrationReportForClass(new ConcurrentHashMap<>()))
+                            .rules()
+                            .put(rule, new ArrayList<>(violations));
+                      }
+                    }));
   }
 
-  private ViolationHandler<JavaClass> javaClassViolationHandler(ArchRule archRule) {
-    return new JavaClassViolationHandler(codeMigrationReport, archRule);
+  private void writeCache() {
+    Map<String, CachedClass> cachedClasses = new HashMap<>();
+    fingerprints.forEach(
+        (className, fingerprint) ->
+            cachedClasses.put(
+                className,
+                new CachedClass(
+                    fingerprint,
+                    codeMigrationReport
+                        .classes()
+                        .getOrDefault(className, new CodeMigrationReportForClass(Map.of())))));
+    new CodeMigrationReportCache(rules, cachedClasses).write(cacheFile);
   }
 
-  private ViolationHandler<JavaMethod> javaMethodViolationHandler(ArchRule archRule) {
-    return new JavaMethodViolationHandler(codeMigrationReport, archRule);
+  private void handleViolations(ArchRule archRule, EvaluationResult evaluationResult) {
+    evaluationResult.handleViolations(
+        new DispatchingViolationHandler(codeMigrationReport, archRule));
   }
 
-  private ViolationHandler<JavaMethodCall> javaMethodCallViolationHandler(ArchRule archRule) {
-    return new JavaMethodCallViolationHandler(codeMigrationReport, archRule);
+  private static List<JavaClasses> partition(JavaClasses javaClasses, int count) {
+    List<JavaClasses> partitions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int index = i;
+      partitions.add(
+          javaClasses.that(
+              DescribedPredicate.describe(
+                  "in partition " + index,
+                  (JavaClass javaClass) ->
+                      Math.floorMod(
+                              AbstractCodeMigrationReportDecoratingViolationHandler.getFileClass(
+                                      javaClass)
+                                  .getName()
+                                  .hashCode(),
+                              count)
+                          == index)));
+    }
+    return partitions;
   }
 }
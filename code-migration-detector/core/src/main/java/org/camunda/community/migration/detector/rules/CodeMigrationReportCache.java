@@ -0,0 +1,296 @@
+package org.camunda.community.migration.detector.rules;
+
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass;
+import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass.CodeMigrationReportForRule;
+
+/**
+ * Results of a previous report run, stored per file class together with a fingerprint of the class.
+ * The fingerprint covers the class files of the file class and its nested classes and the class
+ * files of their supertypes and direct dependencies, such as called methods. A class has to be
+ * evaluated again only if its fingerprint changed.
+ *
+ * <p>Rules are identified by their description, so the cache also stores a fingerprint of the
+ * detector the rules are implemented in. Results of another build of the detector are not reused.
+ */
+public class CodeMigrationReportCache {
+  private static final int VERSION = 2;
+  private static final String DETECTOR = detectorFingerprint();
+  private final String detector;
+  private final Set<String> rules;
+  private final Map<String, CachedClass> classes;
+
+  public CodeMigrationReportCache(Set<String> rules, Map<String, CachedClass> classes) {
+    this(DETECTOR, rules, classes);
+  }
+
+  CodeMigrationReportCache(String detector, Set<String> rules, Map<String, CachedClass> classes) {
+    this.detector = detector;
+    this.rules = rules;
+    this.classes = classes;
+  }
+
+  public static CodeMigrationReportCache empty() {
+    return new CodeMigrationReportCache(Set.of(), Map.of());
+  }
+
+  /**
+   * Reads the cache from the file. A missing or unreadable file results in an empty cache, so all
+   * classes are evaluated.
+   *
+   * @param file the cache file
+   * @return the cache
+   */
+  public static CodeMigrationReportCache read(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return empty();
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != VERSION || !readString(in).equals(DETECTOR)) {
+        return empty();
+      }
+      Set<String> rules = new LinkedHashSet<>();
+      int ruleCount = in.readInt();
+      for (int i = 0; i < ruleCount; i++) {
+        rules.add(readString(in));
+      }
+      Map<String, CachedClass> classes = new HashMap<>();
+      int classCount = in.readInt();
+      for (int i = 0; i < classCount; i++) {
+        String className = readString(in);
+        String fingerprint = readString(in);
+        Map<String, List<CodeMigrationReportForRule>> violations = new ConcurrentHashMap<>();
+        int violatedRuleCount = in.readInt();
+        for (int j = 0; j < violatedRuleCount; j++) {
+          String rule = readString(in);
+          int violationCount = in.readInt();
+          List<CodeMigrationReportForRule> messages = new ArrayList<>(violationCount);
+          for (int k = 0; k < violationCount; k++) {
+            messages.add(new CodeMigrationReportForRule(readString(in)));
+          }
+          violations.put(rule, messages);
+        }
+        classes.put(
+            className, new CachedClass(fingerprint, new CodeMigrationReportForClass(violations)));
+      }
+      return new CodeMigrationReportCache(rules, classes);
+    } catch (IOException e) {
+      return empty();
+    }
+  }
+
+  public void write(Path file) {
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        out.writeInt(VERSION);
+        writeString(out, detector);
+        out.writeInt(rules.size());
+        for (String rule : rules) {
+          writeString(out, rule);
+        }
+        out.writeInt(classes.size());
+        for (Map.Entry<String, CachedClass> entry : classes.entrySet()) {
+          writeString(out, entry.getKey());
+          writeString(out, entry.getValue().fingerprint());
+          Map<String, List<CodeMigrationReportForRule>> violations =
+              entry.getValue().report().rules();
+          out.writeInt(violations.size());
+          for (Map.Entry<String, List<CodeMigrationReportForRule>> rule : violations.entrySet()) {
+            writeString(out, rule.getKey());
+            out.writeInt(rule.getValue().size());
+            for (CodeMigrationReportForRule violation : rule.getValue()) {
+              writeString(out, violation.violation());
+            }
+          }
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error while writing report cache " + file, e);
+    }
+  }
+
+  public boolean containsRule(String rule) {
+    return rules.contains(rule);
+  }
+
+  public CachedClass get(String className) {
+    return classes.get(className);
+  }
+
+  /**
+   * Computes the fingerprint of each file class.
+   *
+   * @param javaClasses the imported classes
+   * @return the fingerprints by full name of the file class
+   */
+  static Map<String, String> fingerprints(JavaClasses javaClasses) {
+    Map<String, List<JavaClass>> fileClasses = new TreeMap<>();
+    javaClasses.forEach(
+        javaClass ->
+            fileClasses
+                .computeIfAbsent(
+                    AbstractCodeMigrationReportDecoratingViolationHandler.getFileClass(javaClass)
+                        .getFullName(),
+                    c -> new ArrayList<>())
+                .add(javaClass));
+    Map<String, byte[]> contentHashes = new HashMap<>();
+    Map<String, String> fingerprints = new HashMap<>();
+    fileClasses.forEach(
+        (fileClass, members) -> {
+          MessageDigest digest = digest();
+          Set<String> memberNames = new TreeSet<>();
+          Map<String, JavaClass> dependencies = new TreeMap<>();
+          members.forEach(
+              member -> {
+                memberNames.add(member.getFullName());
+                addDependencies(dependencies, member.getAllRawSuperclasses());
+                addDependencies(dependencies, member.getAllRawInterfaces());
+                addDependencies(
+                    dependencies,
+                    member.getDirectDependenciesFromSelf().stream()
+                        .map(Dependency::getTargetClass)
+                        .toList());
+              });
+          memberNames.forEach(
+              name -> {
+                JavaClass member = javaClasses.get(name);
+                update(digest, name, contentHash(contentHashes, member));
+                dependencies.remove(name);
+              });
+          dependencies.forEach(
+              (name, dependency) -> update(digest, name, contentHash(contentHashes, dependency)));
+          fingerprints.put(fileClass, HexFormat.of().formatHex(digest.digest()));
+        });
+    return fingerprints;
+  }
+
+  private static String detectorFingerprint() {
+    MessageDigest digest = digest();
+    try {
+      Path location =
+          Path.of(
+              CodeMigrationReportCache.class
+                  .getProtectionDomain()
+                  .getCodeSource()
+                  .getLocation()
+                  .toURI());
+      if (Files.isDirectory(location)) {
+        try (Stream<Path> files = Files.walk(location)) {
+          for (Path file :
+              files.filter(file -> file.toString().endsWith(".class")).sorted().toList()) {
+            update(
+                digest,
+                location.relativize(file).toString(),
+                digest().digest(Files.readAllBytes(file)));
+          }
+        }
+      } else {
+        digest.update(Files.readAllBytes(location));
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      // without access to the class files, only the released version identifies the detector
+      return String.valueOf(CodeMigrationReportCache.class.getPackage().getImplementationVersion());
+    }
+  }
+
+  private static void addDependencies(
+      Map<String, JavaClass> dependencies, Collection<JavaClass> javaClasses) {
+    javaClasses.forEach(
+        javaClass -> {
+          JavaClass baseType = javaClass.getBaseComponentType();
+          if (!baseType.isPrimitive()) {
+            dependencies.putIfAbsent(baseType.getFullName(), baseType);
+          }
+        });
+  }
+
+  private static byte[] contentHash(Map<String, byte[]> contentHashes, JavaClass javaClass) {
+    return contentHashes.computeIfAbsent(
+        javaClass.getFullName(),
+        name ->
+            javaClass
+                .getSource()
+                .map(CodeMigrationReportCache::contentHash)
+                .orElseGet(() -> new byte[0]));
+  }
+
+  private static byte[] contentHash(Source source) {
+    try (InputStream in = source.getUri().toURL().openStream()) {
+      return digest().digest(in.readAllBytes());
+    } catch (IOException | IllegalArgumentException e) {
+      // classes that cannot be read are only identified by their name
+      return new byte[0];
+    }
+  }
+
+  private static void update(MessageDigest digest, String name, byte[] contentHash) {
+    digest.update(name.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(contentHash);
+  }
+
+  private static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Invalid string length " + length);
+    }
+    byte[] bytes = in.readNBytes(length);
+    if (bytes.length != length) {
+      throw new EOFException();
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  public record CachedClass(String fingerprint, CodeMigrationReportForClass report) {}
+}
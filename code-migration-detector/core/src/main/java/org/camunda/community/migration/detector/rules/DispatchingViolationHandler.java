@@ -0,0 +1,39 @@
+package org.camunda.community.migration.detector.rules;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ViolationHandler;
+import java.util.Collection;
+
+/**
+ * Adds all violations of a rule to the report in a single pass, each violating object is passed to
+ * the handler for its type.
+ */
+public class DispatchingViolationHandler implements ViolationHandler<Object> {
+  private final JavaClassViolationHandler javaClassViolationHandler;
+  private final JavaMethodViolationHandler javaMethodViolationHandler;
+  private final JavaMethodCallViolationHandler javaMethodCallViolationHandler;
+
+  public DispatchingViolationHandler(CodeMigrationReport codeMigrationReport, ArchRule archRule) {
+    this.javaClassViolationHandler = new JavaClassViolationHandler(codeMigrationReport, archRule);
+    this.javaMethodViolationHandler = new JavaMethodViolationHandler(codeMigrationReport, archRule);
+    this.javaMethodCallViolationHandler =
+        new JavaMethodCallViolationHandler(codeMigrationReport, archRule);
+  }
+
+  @Override
+  public void handle(Collection<Object> violatingObjects, String message) {
+    violatingObjects.forEach(
+        violatingObject -> {
+          if (violatingObject instanceof JavaMethodCall javaMethodCall) {
+            javaMethodCallViolationHandler.handle(javaMethodCall, message);
+          } else if (violatingObject instanceof JavaMethod javaMethod) {
+            javaMethodViolationHandler.handle(javaMethod, message);
+          } else if (violatingObject instanceof JavaClass javaClass) {
+            javaClassViolationHandler.handle(javaClass, message);
+          }
+        });
+  }
+}
@@ -0,0 +1,156 @@
+package org.camunda.community.migration.detector.rules;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.camunda.community.migration.detector.rules.CodeMigrationReport.CodeMigrationReportForClass;
+import org.camunda.community.migration.detector.rules.CodeMigrationReportCache.CachedClass;
+import org.camunda.community.migration.detector.rules.cache.BaseDelegate;
+import org.camunda.community.migration.detector.rules.cache.Callee;
+import org.camunda.community.migration.detector.rules.cache.Caller;
+import org.camunda.community.migration.detector.rules.cache.InheritingDelegate;
+import org.camunda.community.migration.detector.rules.cache.Unrelated;
+import org.camunda.community.migration.detector.rules.test.MyDelegate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReportCacheTest {
+  private final JavaClasses classes =
+      new ClassFileImporter().importPackages("org.camunda.community.migration.detector.rules.test");
+  private final Set<String> checked = ConcurrentHashMap.newKeySet();
+  private final ArchRule countingRule =
+      ArchRuleDefinition.classes()
+          .should(
+              new ArchCondition<>("be checked") {
+                @Override
+                public void check(JavaClass item, ConditionEvents events) {
+                  checked.add(item.getName());
+                }
+              });
+
+  private void check(JavaClasses classes, Path cacheFile) {
+    checked.clear();
+    new CodeMigrationReportBuilder(classes).withCache(cacheFile).withArchRule(countingRule).build();
+  }
+
+  private CodeMigrationReport report(Path cacheFile) {
+    checked.clear();
+    CodeMigrationReportBuilder builder = new CodeMigrationReportBuilder(classes);
+    if (cacheFile != null) {
+      builder.withCache(cacheFile);
+    }
+    return builder
+        .withArchRule(countingRule)
+        .withArchRule(Camunda7MigrationRules.ensureNoImplementationOfCamunda7Interfaces())
+        .withArchRule(Camunda7MigrationRules.ensureNoInvocationOfCamunda7Api())
+        .withArchRule(Camunda7MigrationRules.ensureNoSpringBootEvents())
+        .build();
+  }
+
+  @Test
+  void shouldOnlyEvaluateChangedClasses(@TempDir Path tempDir) {
+    Path cacheFile = tempDir.resolve("report.cache");
+    CodeMigrationReport expected = report(null);
+    assertThat(expected.classes()).containsKey(MyDelegate.class.getName());
+
+    assertThat(report(cacheFile)).isEqualTo(expected);
+    assertThat(checked).hasSize(classes.size());
+
+    assertThat(report(cacheFile)).isEqualTo(expected);
+    assertThat(checked).isEmpty();
+
+    Map<String, CachedClass> cachedClasses = new HashMap<>();
+    CodeMigrationReportCache.fingerprints(classes)
+        .forEach(
+            (className, fingerprint) ->
+                cachedClasses.put(
+                    className,
+                    new CachedClass(
+                        className.equals(MyDelegate.class.getName()) ? "changed" : fingerprint,
+                        expected
+                            .classes()
+                            .getOrDefault(className, new CodeMigrationReportForClass(Map.of())))));
+    new CodeMigrationReportCache(
+            Set.of(
+                countingRule.getDescription(),
+                Camunda7MigrationRules.ensureNoImplementationOfCamunda7Interfaces()
+                    .getDescription(),
+                Camunda7MigrationRules.ensureNoInvocationOfCamunda7Api().getDescription(),
+                Camunda7MigrationRules.ensureNoSpringBootEvents().getDescription()),
+            cachedClasses)
+        .write(cacheFile);
+    assertThat(report(cacheFile)).isEqualTo(expected);
+    assertThat(checked).containsExactly(MyDelegate.class.getName());
+  }
+
+  @Test
+  void shouldEvaluateClassesAgainWhenSupertypeOrCalleeChanged(@TempDir Path tempDir)
+      throws IOException {
+    Path classDirectory = tempDir.resolve("classes");
+    for (Class<?> clazz :
+        List.of(
+            BaseDelegate.class,
+            InheritingDelegate.class,
+            Callee.class,
+            Caller.class,
+            Unrelated.class)) {
+      Path classFile = classDirectory.resolve(clazz.getName().replace('.', '/') + ".class");
+      Files.createDirectories(classFile.getParent());
+      try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+        Files.copy(in, classFile);
+      }
+    }
+    Path cacheFile = tempDir.resolve("report.cache");
+    check(new ClassFileImporter().importPath(classDirectory), cacheFile);
+    assertThat(checked).hasSize(5);
+
+    changeClassFile(classDirectory, BaseDelegate.class);
+    check(new ClassFileImporter().importPath(classDirectory), cacheFile);
+    assertThat(checked)
+        .containsExactlyInAnyOrder(
+            BaseDelegate.class.getName(), InheritingDelegate.class.getName());
+
+    changeClassFile(classDirectory, Callee.class);
+    check(new ClassFileImporter().importPath(classDirectory), cacheFile);
+    assertThat(checked).containsExactlyInAnyOrder(Callee.class.getName(), Caller.class.getName());
+  }
+
+  @Test
+  void shouldNotReuseResultsOfAnotherDetector(@TempDir Path tempDir) {
+    Path cacheFile = tempDir.resolve("report.cache");
+    report(cacheFile);
+    CodeMigrationReportCache cache = CodeMigrationReportCache.read(cacheFile);
+    Map<String, CachedClass> cachedClasses = new HashMap<>();
+    classes.forEach(
+        javaClass -> cachedClasses.put(javaClass.getName(), cache.get(javaClass.getName())));
+    new CodeMigrationReportCache(
+            "another detector", Set.of(countingRule.getDescription()), cachedClasses)
+        .write(cacheFile);
+    report(cacheFile);
+    assertThat(checked).hasSize(classes.size());
+  }
+
+  private static void changeClassFile(Path classDirectory, Class<?> clazz) throws IOException {
+    // trailing bytes are ignored when the class is read, but change the content hash
+    Files.write(
+        classDirectory.resolve(clazz.getName().replace('.', '/') + ".class"),
+        new byte[] {0},
+        StandardOpenOption.APPEND);
+  }
+}
@@ -38,4 +38,22 @@ public class ReportTest {
     CodeMigrationReportPrinter.print(writer, report);
     System.out.println(writer);
   }
+
+  @ArchTest
+  void checkAllInParallel(JavaClasses classes) {
+    CodeMigrationReport sequential =
+        new CodeMigrationReportBuilder(classes)
+            .withArchRule(Camunda7MigrationRules.ensureNoImplementationOfCamunda7Interfaces())
+            .withArchRule(Camunda7MigrationRules.ensureNoInvocationOfCamunda7Api())
+            .withArchRule(Camunda7MigrationRules.ensureNoSpringBootEvents())
+            .build();
+    CodeMigrationReport parallel =
+        new CodeMigrationReportBuilder(classes)
+            .withParallelism(4)
+            .withArchRule(Camunda7MigrationRules.ensureNoImplementationOfCamunda7Interfaces())
+            .withArchRule(Camunda7MigrationRules.ensureNoInvocationOfCamunda7Api())
+            .withArchRule(Camunda7MigrationRules.ensureNoSpringBootEvents())
+            .build();
+    assertThat(parallel).isEqualTo(sequential);
+  }
 }
@@ -0,0 +1,5 @@
+package org.camunda.community.migration.detector.rules.cache;
+
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+
+public abstract class BaseDelegate implements JavaDelegate {}
@@ -0,0 +1,7 @@
+package org.camunda.community.migration.detector.rules.cache;
+
+public class Callee {
+  public void doSomething() {
+    // do nothing
+  }
+}
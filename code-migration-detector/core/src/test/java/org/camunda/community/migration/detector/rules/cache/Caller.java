@@ -0,0 +1,7 @@
+package org.camunda.community.migration.detector.rules.cache;
+
+public class Caller {
+  public void call(Callee callee) {
+    callee.doSomething();
+  }
+}
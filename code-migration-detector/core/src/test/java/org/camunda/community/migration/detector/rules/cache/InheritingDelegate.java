@@ -0,0 +1,10 @@
+package org.camunda.community.migration.detector.rules.cache;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+
+public class InheritingDelegate extends BaseDelegate {
+  @Override
+  public void execute(DelegateExecution delegateExecution) throws Exception {
+    // do nothing
+  }
+}
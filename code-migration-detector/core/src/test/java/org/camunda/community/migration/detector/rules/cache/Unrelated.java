@@ -0,0 +1,3 @@
+package org.camunda.community.migration.detector.rules.cache;
+
+public class Unrelated {}
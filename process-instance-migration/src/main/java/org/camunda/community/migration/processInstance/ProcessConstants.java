@@ -19,6 +19,8 @@ public interface ProcessConstants {
     String CAMUNDA8_CANCEL = "camunda8:process-instance:cancel";
     String CAMUNDA7_CANCEL = "camunda7:process-instance:cancel";
     String CAMUNDA7_EXTRACT = "camunda7:process-instance:get";
+    String CAMUNDA7_GET_CHUNK = "camunda7:process-instance:chunk:get";
+    String CAMUNDA7_RELEASE_CHUNK = "camunda7:process-instance:chunk:release";
     String CAMUNDA7_VERSIONED_INFORMATION = "camunda7:process-definition:get";
     String CAMUNDA7_QUERY_ROUTABLE_INSTANCES = "camunda7:process-instance:query:routable";
   }
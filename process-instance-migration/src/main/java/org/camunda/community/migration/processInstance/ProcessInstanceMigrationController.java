@@ -1,19 +1,32 @@
 package org.camunda.community.migration.processInstance;
 
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationRun;
 import org.camunda.community.migration.processInstance.dto.rest.ProcessInstanceMigrationStartRequestDto;
 import org.camunda.community.migration.processInstance.dto.rest.UserTaskDto;
 import org.camunda.community.migration.processInstance.dto.task.UserTask;
 import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
+import org.camunda.community.migration.processInstance.service.BulkMigrationService;
 import org.camunda.community.migration.processInstance.service.Camunda8Service;
 import org.camunda.community.migration.processInstance.service.MigrationTaskService;
 import org.camunda.community.migration.processInstance.service.TaskMappingService;
 import org.camunda.community.migration.processInstance.variables.ProcessInstanceMigrationVariables;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,15 +36,29 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/migration")
 public class ProcessInstanceMigrationController {
+  // a client that falls this far behind is disconnected and has to reload the task list
+  private static final int MAX_PENDING_TASK_EVENTS = 1000;
   private final String operateBaseUrl;
   private final MigrationTaskService selectionService;
   private final Camunda8Service camunda8Service;
   private final TaskMappingService taskMappingService;
   private final Camunda7ClientProperties camunda7ClientProperties;
+  private final BulkMigrationService bulkMigrationService;
+  private final Consumer<UserTask> taskListener = this::publishTask;
+  private final Set<TaskEventStream> taskStreams = new CopyOnWriteArraySet<>();
+  private final ExecutorService taskEventExecutor =
+      Executors.newFixedThreadPool(
+          2,
+          runnable -> {
+            Thread thread = new Thread(runnable, "task-events");
+            thread.setDaemon(true);
+            return thread;
+          });
 
   @Autowired
   public ProcessInstanceMigrationController(
@@ -39,18 +66,28 @@ public class ProcessInstanceMigrationController {
       MigrationTaskService selectionService,
       Camunda8Service camunda8Service,
       TaskMappingService taskMappingService,
-      Camunda7ClientProperties camunda7ClientProperties) {
+      Camunda7ClientProperties camunda7ClientProperties,
+      BulkMigrationService bulkMigrationService) {
     this.operateBaseUrl = operateBaseUrl;
     this.selectionService = selectionService;
     this.camunda8Service = camunda8Service;
     this.taskMappingService = taskMappingService;
     this.camunda7ClientProperties = camunda7ClientProperties;
+    this.bulkMigrationService = bulkMigrationService;
+    selectionService.addListener(taskListener);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    selectionService.removeListener(taskListener);
+    taskEventExecutor.shutdownNow();
   }
 
   @PostMapping("/start")
   public ResponseEntity<?> start(@RequestBody ProcessInstanceMigrationStartRequestDto dto) {
     if (dto.getMigrationType() == null) {
-      return ResponseEntity.badRequest().body("Please provide a migration type: 'simple','router'");
+      return ResponseEntity.badRequest()
+          .body("Please provide a migration type: 'simple','router','bulk'");
     }
     if (dto.getMigrationType().equals("simple")) {
       camunda8Service.startProcessInstanceMigration(dto.getBpmnProcessId());
@@ -60,19 +97,42 @@ public class ProcessInstanceMigrationController {
       camunda8Service.startProcessInstanceMigrationRouter(dto.getBpmnProcessId());
       return ResponseEntity.ok().build();
     }
+    if (dto.getMigrationType().equals("bulk")) {
+      return ResponseEntity.accepted().body(bulkMigrationService.start(dto.getBpmnProcessId()));
+    }
     return ResponseEntity.badRequest()
         .body(
             "Invalid migration type '"
                 + dto.getMigrationType()
-                + "'.Please provide a migration type: 'simple','router'");
+                + "'.Please provide a migration type: 'simple','router','bulk'");
+  }
+
+  @GetMapping("/bulk/{runId}")
+  public ResponseEntity<BulkMigrationRun> bulkRun(@PathVariable("runId") String runId) {
+    BulkMigrationRun run = bulkMigrationService.getRun(runId);
+    return run == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(run);
   }
 
   @GetMapping("/tasks")
   public List<UserTaskDto> tasks(
-      @RequestParam(value = "includeCompleted", defaultValue = "false") boolean includeCompleted) {
-    return selectionService.getTasks(includeCompleted).stream()
-        .map(this::fromTask)
-        .collect(Collectors.toList());
+      @RequestParam(value = "includeCompleted", defaultValue = "false") boolean includeCompleted,
+      @RequestParam(value = "processInstanceKey", required = false) Long processInstanceKey) {
+    List<UserTask> tasks =
+        processInstanceKey == null
+            ? selectionService.getTasks(includeCompleted)
+            : selectionService.getTasksByProcessInstanceKey(processInstanceKey);
+    return tasks.stream().map(this::fromTask).collect(Collectors.toList());
+  }
+
+  @GetMapping(path = "/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter taskEvents() {
+    SseEmitter emitter = new SseEmitter(0L);
+    TaskEventStream stream = new TaskEventStream(emitter);
+    emitter.onCompletion(() -> taskStreams.remove(stream));
+    emitter.onTimeout(() -> taskStreams.remove(stream));
+    emitter.onError(e -> taskStreams.remove(stream));
+    taskStreams.add(stream);
+    return emitter;
   }
 
   @GetMapping("/tasks/{id}")
@@ -94,6 +154,17 @@ public class ProcessInstanceMigrationController {
     return links;
   }
 
+  // called on the job worker and renewal threads, so the events are only queued here
+  private void publishTask(UserTask task) {
+    if (taskStreams.isEmpty()) {
+      return;
+    }
+    UserTaskDto dto = fromTask(task);
+    for (TaskEventStream stream : taskStreams) {
+      stream.offer(dto);
+    }
+  }
+
   private UserTaskDto fromTask(UserTask task) {
     UserTaskDto userTaskDto = new UserTaskDto();
     userTaskDto.setProcessInstanceKey(task.getProcessInstanceKey());
@@ -104,4 +175,62 @@ public class ProcessInstanceMigrationController {
     userTaskDto.setData(taskMappingService.crateDto(task.getType(), task.getData()));
     return userTaskDto;
   }
+
+  /**
+   * Sends the task events of one client in order. The events are queued per client, so a slow
+   * client neither delays the publisher nor the other clients.
+   */
+  private final class TaskEventStream {
+    private final SseEmitter emitter;
+    private final Queue<UserTaskDto> events = new ArrayDeque<>();
+    private boolean draining;
+
+    private TaskEventStream(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    void offer(UserTaskDto dto) {
+      synchronized (this) {
+        if (events.size() >= MAX_PENDING_TASK_EVENTS) {
+          events.clear();
+          close(new IllegalStateException("Too many pending task events"));
+          return;
+        }
+        events.add(dto);
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      try {
+        taskEventExecutor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        close(e);
+      }
+    }
+
+    private void drain() {
+      while (true) {
+        UserTaskDto dto;
+        synchronized (this) {
+          dto = events.poll();
+          if (dto == null) {
+            draining = false;
+            return;
+          }
+        }
+        try {
+          emitter.send(SseEmitter.event().name("task").data(dto, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+          close(e);
+          return;
+        }
+      }
+    }
+
+    private void close(Exception e) {
+      taskStreams.remove(this);
+      emitter.completeWithError(e);
+    }
+  }
 }
@@ -28,6 +28,8 @@ import org.camunda.community.migration.processInstance.service.Camunda7Service;
 import org.camunda.community.migration.processInstance.service.Camunda8Service;
 import org.camunda.community.migration.processInstance.service.MigrationTaskService;
 import org.camunda.community.migration.processInstance.service.ProcessDefinitionMigrationHintService;
+import org.camunda.community.migration.processInstance.service.ProcessInstanceIdStore;
+import org.camunda.community.migration.processInstance.service.ProcessInstanceIdStore.ProcessInstanceIdBatch;
 import org.camunda.community.migration.processInstance.service.TaskMappingService;
 import org.camunda.community.migration.processInstance.variables.ProcessInstanceMigrationVariables;
 import org.slf4j.Logger;
@@ -42,18 +44,21 @@ public class ZeebeJobClient {
   private final Camunda8Service camunda8Service;
   private final ProcessDefinitionMigrationHintService processDefinitionMigrationHintService;
   private final TaskMappingService taskMappingService;
+  private final ProcessInstanceIdStore processInstanceIdStore;
 
   public ZeebeJobClient(
       Camunda7Service camunda7Service,
       MigrationTaskService migrationTaskService,
       Camunda8Service camunda8Service,
       ProcessDefinitionMigrationHintService processDefinitionMigrationHintService,
-      TaskMappingService taskMappingService) {
+      TaskMappingService taskMappingService,
+      ProcessInstanceIdStore processInstanceIdStore) {
     this.camunda7Service = camunda7Service;
     this.migrationTaskService = migrationTaskService;
     this.camunda8Service = camunda8Service;
     this.processDefinitionMigrationHintService = processDefinitionMigrationHintService;
     this.taskMappingService = taskMappingService;
+    this.processInstanceIdStore = processInstanceIdStore;
   }
 
   @JobWorker(type = JobType.CAMUNDA7_SUSPEND)
@@ -74,24 +79,60 @@ public class ZeebeJobClient {
   public void continueJob(@VariablesAsType ProcessInstanceMigrationVariables variables) {
     Map<String, String> selectedJobDefinitions = variables.getSelectedJobDefinitions();
     LOG.info("Continuing job definitions {}", selectedJobDefinitions);
-    camunda7Service.continueJobDefinitions(selectedJobDefinitions.keySet());
+    camunda7Service
+        .continueJobDefinitions(selectedJobDefinitions.keySet())
+        .ifPresent(
+            window ->
+                LOG.info(
+                    "Routed activities of process definition '{}' were suspended for {}",
+                    variables.getCamunda7ProcessDefinitionId(),
+                    window));
   }
 
   @JobWorker(type = JobType.CAMUNDA7_QUERY_ROUTABLE_INSTANCES)
   public ProcessInstanceMigrationVariables queryRoutableInstances(
       @VariablesAsType ProcessInstanceMigrationVariables variables) {
+    ProcessInstanceIdBatch batch =
+        processInstanceIdStore.store(
+            camunda7Service
+                .getProcessInstancesByProcessDefinitionIdAndExclusiveActivityIds(
+                    variables.getCamunda7ProcessDefinitionId(),
+                    variables.getSelectedJobDefinitions().values())
+                .map(Camunda7ProcessInstanceData::getProcessInstanceId));
+    LOG.info(
+        "Found process instances to migrate in {} chunks of batch '{}'",
+        batch.chunkCount(),
+        batch.batchId());
+    variables.setProcessInstanceBatchId(batch.batchId());
+    variables.setProcessInstanceChunks(batch.chunks());
+    return variables;
+  }
+
+  @JobWorker(type = JobType.CAMUNDA7_GET_CHUNK)
+  public ProcessInstanceMigrationVariables getProcessInstanceChunk(
+      @VariablesAsType ProcessInstanceMigrationVariables variables) {
     variables.setCamunda7ProcessInstanceIds(
-        camunda7Service
-            .getProcessInstancesByProcessDefinitionIdAndExclusiveActivityIds(
-                variables.getCamunda7ProcessDefinitionId(),
-                variables.getSelectedJobDefinitions().values())
-            .stream()
-            .map(Camunda7ProcessInstanceData::getProcessInstanceId)
-            .collect(Collectors.toList()));
-    LOG.info("Found process instances to migrate: {}", variables.getCamunda7ProcessInstanceIds());
+        processInstanceIdStore.getChunk(
+            variables.getProcessInstanceBatchId(), variables.getProcessInstanceChunk()));
+    LOG.info(
+        "Migrating chunk {} of batch '{}': {}",
+        variables.getProcessInstanceChunk(),
+        variables.getProcessInstanceBatchId(),
+        variables.getCamunda7ProcessInstanceIds());
     return variables;
   }
 
+  @JobWorker(type = JobType.CAMUNDA7_RELEASE_CHUNK)
+  public void releaseProcessInstanceChunk(
+      @VariablesAsType ProcessInstanceMigrationVariables variables) {
+    LOG.info(
+        "Migrated chunk {} of batch '{}'",
+        variables.getProcessInstanceChunk(),
+        variables.getProcessInstanceBatchId());
+    processInstanceIdStore.releaseChunk(
+        variables.getProcessInstanceBatchId(), variables.getProcessInstanceChunk());
+  }
+
   @JobWorker(type = JobType.CAMUNDA7_EXTRACT)
   public ProcessInstanceMigrationVariables extractProcessData(
       @VariablesAsType ProcessInstanceMigrationVariables variables) {
@@ -188,11 +229,9 @@ public class ZeebeJobClient {
     return variables;
   }
 
-  @JobWorker(
-      type = USER_TASK_JOB_TYPE,
-      timeout = 1000L,
-      autoComplete = false,
-      requestTimeout = 1000L)
+  // the job is activated with migration.tasks.timeout, MigrationTaskService renews it while the
+  // task is open
+  @JobWorker(type = USER_TASK_JOB_TYPE, autoComplete = false)
   public void userTask(
       ActivatedJob job, @VariablesAsType ProcessInstanceMigrationVariables variables) {
     String formKey = job.getCustomHeaders().get(USER_TASK_FORM_KEY_HEADER_NAME);
@@ -0,0 +1,62 @@
+package org.camunda.community.migration.processInstance.client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.camunda.community.migration.processInstance.client.Camunda7Client.Camunda7JobConfiguration;
+import org.camunda.community.migration.processInstance.client.Camunda7Client.Camunda7JobType;
+import org.camunda.community.migration.processInstance.dto.client.ActivityInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.JobDefinitionDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.VariableInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.VersionDto;
+import org.camunda.community.migration.processInstance.dto.rest.JobDto;
+
+/**
+ * Non-blocking variant of {@link Camunda7Client}. Each call returns immediately, the future
+ * completes with the result or exceptionally with the error of the request.
+ */
+public interface Camunda7AsyncClient {
+
+  CompletableFuture<List<JobDefinitionDto>> getJobDefinitionsAsync(
+      Camunda7JobType jobType,
+      Camunda7JobConfiguration jobConfiguration,
+      String processDefinitionId);
+
+  CompletableFuture<Void> suspendJobDefinitionAsync(String jobDefinitionId, boolean suspended);
+
+  CompletableFuture<VersionDto> getVersionAsync();
+
+  CompletableFuture<Void> suspendProcessDefinitionByIdAsync(
+      String processDefinitionId, boolean suspended);
+
+  CompletableFuture<ProcessInstanceDto> getProcessInstanceAsync(String processInstanceId);
+
+  CompletableFuture<ProcessDefinitionDto> getProcessDefinitionAsync(String processDefinitionId);
+
+  CompletableFuture<ActivityInstanceDto> getActivityInstancesAsync(String processInstanceId);
+
+  CompletableFuture<Void> cancelProcessInstanceAsync(String processInstanceId);
+
+  CompletableFuture<Void> setVariableAsync(
+      String processInstanceId, String variableName, Object variableValue);
+
+  CompletableFuture<List<ProcessInstanceDto>> getProcessInstancesByProcessDefinitionAsync(
+      String processDefinitionId, int firstResult, int maxResults);
+
+  CompletableFuture<List<ProcessInstanceDto>>
+      getProcessInstancesByProcessDefinitionAndActivityIdsAsync(
+          String processDefinitionId,
+          Collection<String> activityIds,
+          int firstResult,
+          int maxResults);
+
+  CompletableFuture<ProcessDefinitionDto> getLatestProcessDefinitionByKeyAsync(
+      String processDefinitionKey);
+
+  CompletableFuture<List<VariableInstanceDto>> getVariableInstancesAsync(
+      Collection<String> processInstanceIds);
+
+  CompletableFuture<List<JobDto>> getJobsAsync(Collection<String> camunda7ProcessInstanceIds);
+}
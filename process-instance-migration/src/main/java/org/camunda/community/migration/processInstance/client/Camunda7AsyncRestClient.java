@@ -0,0 +1,532 @@
+package org.camunda.community.migration.processInstance.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.camunda.community.migration.processInstance.dto.client.ActivityInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.JobDefinitionDto;
+import org.camunda.community.migration.processInstance.dto.client.JobDefinitionDto.JobDefinitionQueryResultDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto.ProcessDefinitionQueryResultDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto.ProcessInstanceQueryResultDto;
+import org.camunda.community.migration.processInstance.dto.client.VariableInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.VariableInstanceDto.VariableInstanceQueryResultDto;
+import org.camunda.community.migration.processInstance.dto.client.VersionDto;
+import org.camunda.community.migration.processInstance.dto.rest.JobDto;
+import org.camunda.community.migration.processInstance.dto.rest.JobDto.JobQueryResultDto;
+import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * {@link Camunda7Client} on top of the JDK {@link HttpClient}. Connections are kept alive and
+ * reused, HTTP/2 is negotiated if the engine supports it and many requests can be in flight at the
+ * same time, limited by <code>camunda7.client.max-concurrent-requests</code>.
+ */
+public class Camunda7AsyncRestClient implements Camunda7Client, Camunda7AsyncClient {
+  private static final Logger LOG = LoggerFactory.getLogger(Camunda7AsyncRestClient.class);
+  private static final String PROCESS_DEFINITION = "/process-definition";
+  private static final String PROCESS_INSTANCE = "/process-instance";
+  private static final String VARIABLE_INSTANCE = "/variable-instance";
+  private static final String JOB_DEFINITION = "/job-definition";
+  private static final String JOB = "/job";
+  private static final String SUSPENDED = "/suspended";
+  private static final String VERSION = "/version";
+
+  private final Camunda7ClientProperties properties;
+  private final ObjectMapper objectMapper;
+  private final String baseUrl;
+  private final String authorization;
+  private final ExecutorService executor;
+  private final HttpClient httpClient;
+  private final RequestLimiter requestLimiter;
+
+  public Camunda7AsyncRestClient(
+      String baseUrl, Camunda7ClientProperties properties, ObjectMapper objectMapper) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.authorization = authorization(properties);
+    this.executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "camunda7-http-client");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(
+                properties.getHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getConnectTimeout())
+            .executor(executor)
+            .build();
+    this.requestLimiter = new RequestLimiter(properties.getMaxConcurrentRequests(), executor);
+  }
+
+  private static String authorization(Camunda7ClientProperties properties) {
+    if (properties.getAuthentication().getCustom() != null) {
+      throw new IllegalStateException(
+          "Custom authentication is only supported by the rest-template client");
+    }
+    String username = properties.getAuthentication().getBasicAuth().getUsername();
+    String password = properties.getAuthentication().getBasicAuth().getPassword();
+    if (username == null || password == null) {
+      return null;
+    }
+    LOG.info("Applying Basic Auth");
+    return "Basic "
+        + Base64.getEncoder()
+            .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+  }
+
+  @PostConstruct
+  public void testConnection() {
+    if (properties.getCheckOnInit()) {
+      try {
+        VersionDto version = getVersion();
+        LOG.info("Connected to Camunda 7 version {}", version.getVersion());
+      } catch (Exception e) {
+        throw new RuntimeException("Could not establish a connection to Camunda 7", e);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public CompletableFuture<List<JobDefinitionDto>> getJobDefinitionsAsync(
+      Camunda7JobType jobType,
+      Camunda7JobConfiguration jobConfiguration,
+      String processDefinitionId) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("jobType", jobType.getName());
+    parameters.put("jobConfiguration", jobConfiguration.getName());
+    parameters.put("processDefinitionId", processDefinitionId);
+    return get(JOB_DEFINITION, parameters, JobDefinitionQueryResultDto.class);
+  }
+
+  @Override
+  public CompletableFuture<Void> suspendJobDefinitionAsync(
+      String jobDefinitionId, boolean suspended) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("suspended", suspended);
+    body.put("includeJobs", true);
+    return send("PUT", path(JOB_DEFINITION, jobDefinitionId) + SUSPENDED, Map.of(), body, null);
+  }
+
+  @Override
+  public CompletableFuture<VersionDto> getVersionAsync() {
+    return get(VERSION, Map.of(), VersionDto.class);
+  }
+
+  @Override
+  public CompletableFuture<Void> suspendProcessDefinitionByIdAsync(
+      String processDefinitionId, boolean suspended) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("suspended", suspended);
+    body.put("includeProcessInstances", true);
+    return send(
+        "PUT", path(PROCESS_DEFINITION, processDefinitionId) + SUSPENDED, Map.of(), body, null);
+  }
+
+  @Override
+  public CompletableFuture<ProcessInstanceDto> getProcessInstanceAsync(String processInstanceId) {
+    return get(path(PROCESS_INSTANCE, processInstanceId), Map.of(), ProcessInstanceDto.class);
+  }
+
+  @Override
+  public CompletableFuture<ProcessDefinitionDto> getProcessDefinitionAsync(
+      String processDefinitionId) {
+    return get(path(PROCESS_DEFINITION, processDefinitionId), Map.of(), ProcessDefinitionDto.class);
+  }
+
+  @Override
+  public CompletableFuture<ActivityInstanceDto> getActivityInstancesAsync(
+      String processInstanceId) {
+    return get(
+        path(PROCESS_INSTANCE, processInstanceId) + "/activity-instances",
+        Map.of(),
+        ActivityInstanceDto.class);
+  }
+
+  @Override
+  public CompletableFuture<Void> cancelProcessInstanceAsync(String processInstanceId) {
+    return send("DELETE", path(PROCESS_INSTANCE, processInstanceId), Map.of(), null, null);
+  }
+
+  @Override
+  public CompletableFuture<Void> setVariableAsync(
+      String processInstanceId, String variableName, Object variableValue) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("value", variableValue);
+    return send(
+        "PUT",
+        path(PROCESS_INSTANCE, processInstanceId) + path("/variables", variableName),
+        Map.of(),
+        body,
+        null);
+  }
+
+  @Override
+  public CompletableFuture<List<ProcessInstanceDto>> getProcessInstancesByProcessDefinitionAsync(
+      String processDefinitionId, int firstResult, int maxResults) {
+    Map<String, Object> parameters = pageParameters(firstResult, maxResults);
+    parameters.put("processDefinitionId", processDefinitionId);
+    return get(PROCESS_INSTANCE, parameters, ProcessInstanceQueryResultDto.class);
+  }
+
+  @Override
+  public CompletableFuture<List<ProcessInstanceDto>>
+      getProcessInstancesByProcessDefinitionAndActivityIdsAsync(
+          String processDefinitionId,
+          Collection<String> activityIds,
+          int firstResult,
+          int maxResults) {
+    Map<String, Object> parameters = pageParameters(firstResult, maxResults);
+    parameters.put("processDefinitionId", processDefinitionId);
+    parameters.put("activityIdIn", String.join(",", activityIds));
+    return get(PROCESS_INSTANCE, parameters, ProcessInstanceQueryResultDto.class);
+  }
+
+  @Override
+  public CompletableFuture<ProcessDefinitionDto> getLatestProcessDefinitionByKeyAsync(
+      String processDefinitionKey) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("latestVersion", Boolean.TRUE.toString());
+    parameters.put("key", processDefinitionKey);
+    return this.<List<ProcessDefinitionDto>>get(
+            PROCESS_DEFINITION, parameters, ProcessDefinitionQueryResultDto.class)
+        .thenApply(result -> result == null || result.isEmpty() ? null : result.get(0));
+  }
+
+  @Override
+  public CompletableFuture<List<VariableInstanceDto>> getVariableInstancesAsync(
+      Collection<String> processInstanceIds) {
+    return send(
+        "POST",
+        VARIABLE_INSTANCE,
+        Map.of(),
+        Map.of("processInstanceIdIn", processInstanceIds),
+        VariableInstanceQueryResultDto.class);
+  }
+
+  @Override
+  public CompletableFuture<List<JobDto>> getJobsAsync(
+      Collection<String> camunda7ProcessInstanceIds) {
+    return send(
+        "POST",
+        JOB,
+        Map.of(),
+        Map.of("processInstanceIds", camunda7ProcessInstanceIds),
+        JobQueryResultDto.class);
+  }
+
+  @Override
+  public List<JobDefinitionDto> getJobDefinitions(
+      Camunda7JobType jobType,
+      Camunda7JobConfiguration jobConfiguration,
+      String processDefinitionId) {
+    return join(getJobDefinitionsAsync(jobType, jobConfiguration, processDefinitionId));
+  }
+
+  @Override
+  public void suspendJobDefinition(String jobDefinitionId, boolean suspended) {
+    join(suspendJobDefinitionAsync(jobDefinitionId, suspended));
+  }
+
+  @Override
+  public VersionDto getVersion() {
+    return join(getVersionAsync());
+  }
+
+  @Override
+  public void suspendProcessDefinitionById(String processDefinitionId, boolean suspended) {
+    join(suspendProcessDefinitionByIdAsync(processDefinitionId, suspended));
+  }
+
+  @Override
+  public ProcessInstanceDto getProcessInstance(String processInstanceId) {
+    return join(getProcessInstanceAsync(processInstanceId));
+  }
+
+  @Override
+  public ProcessDefinitionDto getProcessDefinition(String processDefinitionId) {
+    return join(getProcessDefinitionAsync(processDefinitionId));
+  }
+
+  @Override
+  public ActivityInstanceDto getActivityInstances(String processInstanceId) {
+    return join(getActivityInstancesAsync(processInstanceId));
+  }
+
+  @Override
+  public void cancelProcessInstance(String processInstanceId) {
+    join(cancelProcessInstanceAsync(processInstanceId));
+  }
+
+  @Override
+  public void setVariable(String processInstanceId, String variableName, Object variableValue) {
+    join(setVariableAsync(processInstanceId, variableName, variableValue));
+  }
+
+  @Override
+  public List<ProcessInstanceDto> getProcessInstancesByProcessDefinition(
+      String processDefinitionId, int firstResult, int maxResults) {
+    return join(
+        getProcessInstancesByProcessDefinitionAsync(processDefinitionId, firstResult, maxResults));
+  }
+
+  @Override
+  public List<ProcessInstanceDto> getProcessInstancesByProcessDefinitionAndActivityIds(
+      String processDefinitionId, Collection<String> activityIds, int firstResult, int maxResults) {
+    return join(
+        getProcessInstancesByProcessDefinitionAndActivityIdsAsync(
+            processDefinitionId, activityIds, firstResult, maxResults));
+  }
+
+  @Override
+  public Stream<ProcessInstanceDto> streamProcessInstancesByProcessDefinition(
+      String processDefinitionId) {
+    return PagedIterator.stream(
+        (firstResult, maxResults) ->
+            getProcessInstancesByProcessDefinition(processDefinitionId, firstResult, maxResults),
+        properties.getPageSize(),
+        properties.getPrefetch() ? executor : null,
+        PROCESS_INSTANCE_ID);
+  }
+
+  @Override
+  public Stream<ProcessInstanceDto> streamProcessInstancesByProcessDefinitionAndActivityIds(
+      String processDefinitionId, Collection<String> activityIds) {
+    return PagedIterator.stream(
+        (firstResult, maxResults) ->
+            getProcessInstancesByProcessDefinitionAndActivityIds(
+                processDefinitionId, activityIds, firstResult, maxResults),
+        properties.getPageSize(),
+        properties.getPrefetch() ? executor : null,
+        PROCESS_INSTANCE_ID);
+  }
+
+  @Override
+  public ProcessDefinitionDto getLatestProcessDefinitionByKey(String processDefinitionKey) {
+    return join(getLatestProcessDefinitionByKeyAsync(processDefinitionKey));
+  }
+
+  @Override
+  public List<VariableInstanceDto> getVariableInstances(String processInstanceId) {
+    return getVariableInstances(List.of(processInstanceId));
+  }
+
+  @Override
+  public List<JobDto> getJobs(String camunda7ProcessInstanceId) {
+    return getJobs(List.of(camunda7ProcessInstanceId));
+  }
+
+  @Override
+  public List<VariableInstanceDto> getVariableInstances(Collection<String> processInstanceIds) {
+    return join(getVariableInstancesAsync(processInstanceIds));
+  }
+
+  @Override
+  public List<JobDto> getJobs(Collection<String> camunda7ProcessInstanceIds) {
+    return join(getJobsAsync(camunda7ProcessInstanceIds));
+  }
+
+  private Map<String, Object> pageParameters(int firstResult, int maxResults) {
+    // a stable order is required to page through the result
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("sortBy", "instanceId");
+    parameters.put("sortOrder", "asc");
+    parameters.put("firstResult", firstResult);
+    parameters.put("maxResults", maxResults);
+    return parameters;
+  }
+
+  private <T> CompletableFuture<T> get(
+      String path, Map<String, Object> parameters, Class<? extends T> responseType) {
+    return send("GET", path, parameters, null, responseType);
+  }
+
+  /**
+   * Sends the request once a permit is available. If all permits are taken, the request is queued
+   * and sent when a running request completes, so the caller is never blocked.
+   */
+  private <T> CompletableFuture<T> send(
+      String method,
+      String path,
+      Map<String, Object> parameters,
+      Object body,
+      Class<? extends T> responseType) {
+    HttpRequest request;
+    try {
+      request = request(method, path, parameters, body);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    CompletableFuture<HttpResponse<byte[]>> response = new CompletableFuture<>();
+    requestLimiter.execute(() -> dispatch(request, response));
+    return response.thenApply(r -> readResponse(method, path, r, responseType));
+  }
+
+  private void dispatch(HttpRequest request, CompletableFuture<HttpResponse<byte[]>> response) {
+    try {
+      httpClient
+          .sendAsync(request, BodyHandlers.ofByteArray())
+          .whenComplete(
+              (r, error) -> {
+                requestLimiter.release();
+                if (error == null) {
+                  response.complete(r);
+                } else {
+                  response.completeExceptionally(
+                      error instanceof CompletionException && error.getCause() != null
+                          ? error.getCause()
+                          : error);
+                }
+              });
+    } catch (RuntimeException e) {
+      requestLimiter.release();
+      response.completeExceptionally(e);
+    }
+  }
+
+  private HttpRequest request(
+      String method, String path, Map<String, Object> parameters, Object body) throws IOException {
+    String query =
+        parameters.entrySet().stream()
+            .map(e -> encode(e.getKey()) + "=" + encode(String.valueOf(e.getValue())))
+            .collect(Collectors.joining("&"));
+    BodyPublisher bodyPublisher =
+        body == null
+            ? BodyPublishers.noBody()
+            : BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path + (query.isEmpty() ? "" : "?" + query)))
+            .timeout(properties.getRequestTimeout())
+            .header("Accept", "application/json")
+            .method(method, bodyPublisher);
+    if (body != null) {
+      builder.header("Content-Type", "application/json");
+    }
+    if (authorization != null) {
+      builder.header("Authorization", authorization);
+    }
+    return builder.build();
+  }
+
+  private <T> T readResponse(
+      String method, String path, HttpResponse<byte[]> response, Class<? extends T> responseType) {
+    if (response.statusCode() >= 300) {
+      throw new RestClientResponseException(
+          method + " " + path + " failed with status " + response.statusCode(),
+          HttpStatusCode.valueOf(response.statusCode()),
+          "",
+          null,
+          response.body(),
+          StandardCharsets.UTF_8);
+    }
+    if (responseType == null || response.body().length == 0) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(response.body(), responseType);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String path(String base, String id) {
+    return base + "/" + encode(id).replace("+", "%20");
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Limits the requests in flight. Requests beyond the limit wait in a queue instead of a thread.
+   */
+  private static class RequestLimiter {
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private final Executor executor;
+    private int available;
+
+    RequestLimiter(int permits, Executor executor) {
+      this.available = permits;
+      this.executor = executor;
+    }
+
+    void execute(Runnable request) {
+      synchronized (this) {
+        if (available == 0) {
+          waiting.add(request);
+          return;
+        }
+        available--;
+      }
+      request.run();
+    }
+
+    void release() {
+      Runnable next;
+      synchronized (this) {
+        next = waiting.poll();
+        if (next == null) {
+          available++;
+          return;
+        }
+      }
+      // the permit passes on to the next request, which is not run on the completing thread
+      try {
+        executor.execute(next);
+      } catch (RejectedExecutionException e) {
+        next.run();
+      }
+    }
+  }
+}
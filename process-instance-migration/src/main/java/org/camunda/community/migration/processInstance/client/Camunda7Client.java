@@ -2,6 +2,8 @@ package org.camunda.community.migration.processInstance.client;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.camunda.community.migration.processInstance.dto.client.ActivityInstanceDto;
 import org.camunda.community.migration.processInstance.dto.client.JobDefinitionDto;
 import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto;
@@ -12,6 +14,9 @@ import org.camunda.community.migration.processInstance.dto.rest.JobDto;
 
 public interface Camunda7Client {
   String BEAN_NAME = "camunda7Client";
+  int DEFAULT_PAGE_SIZE = 500;
+  // process instance queries are sorted by id, so that instances removed while paging are detected
+  Function<ProcessInstanceDto, String> PROCESS_INSTANCE_ID = ProcessInstanceDto::getId;
 
   List<JobDefinitionDto> getJobDefinitions(
       Camunda7JobType jobType,
@@ -34,10 +39,32 @@ public interface Camunda7Client {
 
   void setVariable(String processInstanceId, String variableName, Object variableValue);
 
-  List<ProcessInstanceDto> getProcessInstancesByProcessDefinition(String processDefinitionId);
+  List<ProcessInstanceDto> getProcessInstancesByProcessDefinition(
+      String processDefinitionId, int firstResult, int maxResults);
 
   List<ProcessInstanceDto> getProcessInstancesByProcessDefinitionAndActivityIds(
-      String processDefinitionId, Collection<String> activityIds);
+      String processDefinitionId, Collection<String> activityIds, int firstResult, int maxResults);
+
+  default Stream<ProcessInstanceDto> streamProcessInstancesByProcessDefinition(
+      String processDefinitionId) {
+    return PagedIterator.stream(
+        (firstResult, maxResults) ->
+            getProcessInstancesByProcessDefinition(processDefinitionId, firstResult, maxResults),
+        DEFAULT_PAGE_SIZE,
+        null,
+        PROCESS_INSTANCE_ID);
+  }
+
+  default Stream<ProcessInstanceDto> streamProcessInstancesByProcessDefinitionAndActivityIds(
+      String processDefinitionId, Collection<String> activityIds) {
+    return PagedIterator.stream(
+        (firstResult, maxResults) ->
+            getProcessInstancesByProcessDefinitionAndActivityIds(
+                processDefinitionId, activityIds, firstResult, maxResults),
+        DEFAULT_PAGE_SIZE,
+        null,
+        PROCESS_INSTANCE_ID);
+  }
 
   ProcessDefinitionDto getLatestProcessDefinitionByKey(String processDefinitionKey);
 
@@ -45,6 +72,10 @@ public interface Camunda7Client {
 
   List<JobDto> getJobs(String camunda7ProcessInstanceId);
 
+  List<VariableInstanceDto> getVariableInstances(Collection<String> processInstanceIds);
+
+  List<JobDto> getJobs(Collection<String> camunda7ProcessInstanceIds);
+
   enum Camunda7JobType {
     ASYNC_CONTINUATION("async-continuation");
     private final String name;
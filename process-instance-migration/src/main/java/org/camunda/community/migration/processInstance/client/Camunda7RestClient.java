@@ -1,13 +1,17 @@
 package org.camunda.community.migration.processInstance.client;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.camunda.community.migration.processInstance.dto.client.ActivityInstanceDto;
 import org.camunda.community.migration.processInstance.dto.client.JobDefinitionDto;
 import org.camunda.community.migration.processInstance.dto.client.JobDefinitionDto.JobDefinitionQueryResultDto;
@@ -49,10 +53,27 @@ public class Camunda7RestClient implements Camunda7Client {
   private static final String JOB_DEFINITION_SUSPENDED = JOB_DEFINITION_BY_ID + SUSPENDED;
   private final RestTemplate restTemplate;
   private final Camunda7ClientProperties properties;
+  private final ExecutorService prefetchExecutor;
 
   public Camunda7RestClient(RestTemplate restTemplate, Camunda7ClientProperties properties) {
     this.restTemplate = restTemplate;
     this.properties = properties;
+    this.prefetchExecutor =
+        properties.getPrefetch()
+            ? Executors.newCachedThreadPool(
+                runnable -> {
+                  Thread thread = new Thread(runnable, "camunda7-page-prefetch");
+                  thread.setDaemon(true);
+                  return thread;
+                })
+            : null;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (prefetchExecutor != null) {
+      prefetchExecutor.shutdownNow();
+    }
   }
 
   @PostConstruct
@@ -150,9 +171,9 @@ public class Camunda7RestClient implements Camunda7Client {
 
   @Override
   public List<ProcessInstanceDto> getProcessInstancesByProcessDefinition(
-      String processDefinitionId) {
-    Map<String, String> parameters =
-        Collections.singletonMap("processDefinitionId", processDefinitionId);
+      String processDefinitionId, int firstResult, int maxResults) {
+    Map<String, String> parameters = pageParameters(firstResult, maxResults);
+    parameters.put("processDefinitionId", processDefinitionId);
     return restTemplate.getForObject(
         PROCESS_INSTANCE + buildQuery(parameters.keySet()),
         ProcessInstanceQueryResultDto.class,
@@ -161,8 +182,8 @@ public class Camunda7RestClient implements Camunda7Client {
 
   @Override
   public List<ProcessInstanceDto> getProcessInstancesByProcessDefinitionAndActivityIds(
-      String processDefinitionId, Collection<String> activityIds) {
-    Map<String, String> parameters = new HashMap<>();
+      String processDefinitionId, Collection<String> activityIds, int firstResult, int maxResults) {
+    Map<String, String> parameters = pageParameters(firstResult, maxResults);
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("activityIdIn", String.join(",", activityIds));
     return restTemplate.getForObject(
@@ -171,6 +192,39 @@ public class Camunda7RestClient implements Camunda7Client {
         parameters);
   }
 
+  @Override
+  public Stream<ProcessInstanceDto> streamProcessInstancesByProcessDefinition(
+      String processDefinitionId) {
+    return PagedIterator.stream(
+        (firstResult, maxResults) ->
+            getProcessInstancesByProcessDefinition(processDefinitionId, firstResult, maxResults),
+        properties.getPageSize(),
+        prefetchExecutor,
+        PROCESS_INSTANCE_ID);
+  }
+
+  @Override
+  public Stream<ProcessInstanceDto> streamProcessInstancesByProcessDefinitionAndActivityIds(
+      String processDefinitionId, Collection<String> activityIds) {
+    return PagedIterator.stream(
+        (firstResult, maxResults) ->
+            getProcessInstancesByProcessDefinitionAndActivityIds(
+                processDefinitionId, activityIds, firstResult, maxResults),
+        properties.getPageSize(),
+        prefetchExecutor,
+        PROCESS_INSTANCE_ID);
+  }
+
+  private Map<String, String> pageParameters(int firstResult, int maxResults) {
+    // a stable order is required to page through the result
+    Map<String, String> parameters = new HashMap<>();
+    parameters.put("sortBy", "instanceId");
+    parameters.put("sortOrder", "asc");
+    parameters.put("firstResult", String.valueOf(firstResult));
+    parameters.put("maxResults", String.valueOf(maxResults));
+    return parameters;
+  }
+
   @Override
   public ProcessDefinitionDto getLatestProcessDefinitionByKey(String processDefinitionKey) {
     Map<String, String> parameters = new HashMap<>();
@@ -201,4 +255,18 @@ public class Camunda7RestClient implements Camunda7Client {
     return restTemplate.getForObject(
         JOB + buildQuery(variables.keySet()), JobQueryResultDto.class, variables);
   }
+
+  @Override
+  public List<VariableInstanceDto> getVariableInstances(Collection<String> processInstanceIds) {
+    Map<String, Object> body = Collections.singletonMap("processInstanceIdIn", processInstanceIds);
+    return restTemplate.postForObject(
+        VARIABLE_INSTANCE, body, VariableInstanceQueryResultDto.class);
+  }
+
+  @Override
+  public List<JobDto> getJobs(Collection<String> camunda7ProcessInstanceIds) {
+    Map<String, Object> body =
+        Collections.singletonMap("processInstanceIds", camunda7ProcessInstanceIds);
+    return restTemplate.postForObject(JOB, body, JobQueryResultDto.class);
+  }
 }
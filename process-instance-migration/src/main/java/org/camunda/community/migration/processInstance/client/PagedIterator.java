@@ -0,0 +1,166 @@
+package org.camunda.community.migration.processInstance.client;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over a query result page by page. A page is only fetched once the previous one has been
+ * consumed, or in the background while the previous one is consumed if a prefetch executor is set.
+ * A page that is smaller than the page size marks the end of the result.
+ *
+ * <p>Pages are fetched by offset. If elements before the offset are removed while iterating, for
+ * example because the process instances are cancelled after being migrated, later elements move to
+ * lower offsets. Without a key, these elements are skipped. With a key, the keys of all elements
+ * seen are remembered and each page is fetched with one element of overlap. If the overlapping
+ * element has not been seen, the result has shifted and the page is fetched again from a lower
+ * offset. Elements that have been seen already are dropped. Only the keys are compared, so the
+ * order of the query does not have to match any order in Java, at the cost of one key in memory per
+ * element streamed.
+ */
+public class PagedIterator<T> implements Iterator<T> {
+  private final PageFetcher<T> pageFetcher;
+  private final int pageSize;
+  private final Executor prefetchExecutor;
+  private final Function<? super T, ?> key;
+  private final Set<Object> seenKeys = ConcurrentHashMap.newKeySet();
+  private Iterator<T> currentPage;
+  private Supplier<Page<T>> nextPage;
+
+  public PagedIterator(PageFetcher<T> pageFetcher, int pageSize, Executor prefetchExecutor) {
+    this(pageFetcher, pageSize, prefetchExecutor, null);
+  }
+
+  public PagedIterator(
+      PageFetcher<T> pageFetcher,
+      int pageSize,
+      Executor prefetchExecutor,
+      Function<? super T, ?> key) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be positive, was " + pageSize);
+    }
+    this.pageFetcher = pageFetcher;
+    this.pageSize = pageSize;
+    this.prefetchExecutor = prefetchExecutor;
+    this.key = key;
+  }
+
+  public static <T> Stream<T> stream(
+      PageFetcher<T> pageFetcher, int pageSize, Executor prefetchExecutor) {
+    return stream(pageFetcher, pageSize, prefetchExecutor, null);
+  }
+
+  /**
+   * Streams the query result.
+   *
+   * @param pageFetcher fetches a page of the query result
+   * @param pageSize the number of elements per page
+   * @param prefetchExecutor the executor to fetch the next page in the background, may be null
+   * @param key the unique key of an element of a query with a stable order, may be null if the
+   *     result does not change while it is streamed
+   * @return the stream of all elements
+   */
+  public static <T> Stream<T> stream(
+      PageFetcher<T> pageFetcher,
+      int pageSize,
+      Executor prefetchExecutor,
+      Function<? super T, ?> key) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            new PagedIterator<>(pageFetcher, pageSize, prefetchExecutor, key),
+            Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (currentPage == null) {
+      List<T> firstPage = pageFetcher.fetch(0, pageSize);
+      loadPage(new Page<>(firstPage, pageSize, firstPage == null || firstPage.size() < pageSize));
+    }
+    while (!currentPage.hasNext() && nextPage != null) {
+      Supplier<Page<T>> page = nextPage;
+      nextPage = null;
+      loadPage(page.get());
+    }
+    return currentPage.hasNext();
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return currentPage.next();
+  }
+
+  private void loadPage(Page<T> page) {
+    List<T> elements = page.elements() == null ? List.of() : page.elements();
+    currentPage = elements.iterator();
+    if (key != null) {
+      elements.forEach(element -> seenKeys.add(key.apply(element)));
+    }
+    if (!page.last()) {
+      int firstResult = page.nextFirstResult();
+      if (prefetchExecutor == null) {
+        nextPage = () -> fetch(firstResult);
+      } else {
+        CompletableFuture<Page<T>> prefetchedPage =
+            CompletableFuture.supplyAsync(() -> fetch(firstResult), prefetchExecutor);
+        nextPage = () -> join(prefetchedPage);
+      }
+    }
+  }
+
+  private static <T> Page<T> join(CompletableFuture<Page<T>> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private Page<T> fetch(int firstResult) {
+    if (key == null || seenKeys.isEmpty()) {
+      List<T> page = pageFetcher.fetch(firstResult, pageSize);
+      return new Page<>(page, firstResult + pageSize, page == null || page.size() < pageSize);
+    }
+    int offset = firstResult;
+    int stepBack = pageSize;
+    while (true) {
+      int start = Math.max(0, offset - 1);
+      int maxResults = pageSize + offset - start;
+      List<T> page = pageFetcher.fetch(start, maxResults);
+      page = page == null ? List.of() : page;
+      if (start == 0 || (!page.isEmpty() && seenKeys.contains(key.apply(page.get(0))))) {
+        List<T> unseen =
+            page.stream().filter(element -> !seenKeys.contains(key.apply(element))).toList();
+        return new Page<>(unseen, start + page.size(), page.size() < maxResults);
+      }
+      // elements before the offset have been removed, the unseen elements start earlier
+      offset = Math.max(0, offset - stepBack);
+      stepBack *= 2;
+    }
+  }
+
+  @FunctionalInterface
+  public interface PageFetcher<T> {
+    List<T> fetch(int firstResult, int maxResults);
+  }
+
+  private record Page<T>(List<T> elements, int nextFirstResult, boolean last) {}
+}
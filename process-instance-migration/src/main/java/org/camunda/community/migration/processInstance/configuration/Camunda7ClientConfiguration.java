@@ -1,7 +1,9 @@
 package org.camunda.community.migration.processInstance.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Set;
 import java.util.function.Consumer;
+import org.camunda.community.migration.processInstance.client.Camunda7AsyncRestClient;
 import org.camunda.community.migration.processInstance.client.Camunda7Client;
 import org.camunda.community.migration.processInstance.client.Camunda7RestClient;
 import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
@@ -30,9 +32,12 @@ public class Camunda7ClientConfiguration {
   }
 
   @Bean
-  public Camunda7Client camunda7Client(
-      RestTemplate restTemplate, Camunda7ClientProperties properties) {
-    return new Camunda7RestClient(restTemplate, properties);
+  public Camunda7Client camunda7Client(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    LOG.info("Camunda 7 client type: {}", properties.getType());
+    return switch (properties.getType()) {
+      case REST_TEMPLATE -> new Camunda7RestClient(restTemplate, properties);
+      case ASYNC -> new Camunda7AsyncRestClient(baseUrl(), properties, objectMapper);
+    };
   }
 
   @Bean
@@ -44,14 +49,17 @@ public class Camunda7ClientConfiguration {
 
   @Bean
   public Consumer<RestTemplate> baseUrlSetter() {
-    String baseUrl =
-        (properties.getBaseUrl() + "/" + properties.getRestApiContext())
-            .replaceAll("([^:])\\/\\/", "$1/");
+    String baseUrl = baseUrl();
     LOG.info("Base URL: {}", baseUrl);
     DefaultUriBuilderFactory templateHandler = new DefaultUriBuilderFactory(baseUrl);
     return restTemplate -> restTemplate.setUriTemplateHandler(templateHandler);
   }
 
+  private String baseUrl() {
+    return (properties.getBaseUrl() + "/" + properties.getRestApiContext())
+        .replaceAll("([^:])\\/\\/", "$1/");
+  }
+
   @Bean
   @ConditionalOnProperty({
     "camunda7.client.authentication.basic-auth.username",
@@ -0,0 +1,27 @@
+package org.camunda.community.migration.processInstance.configuration;
+
+import static io.camunda.zeebe.protocol.Protocol.*;
+
+import io.camunda.zeebe.spring.client.annotation.customizer.ZeebeWorkerValueCustomizer;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MigrationTaskConfiguration {
+
+  /**
+   * Activates user task jobs with the task timeout, so that the tasks of a stopped node become
+   * available again as soon as their timeout is not renewed anymore.
+   */
+  @Bean
+  public ZeebeWorkerValueCustomizer userTaskTimeout(
+      @Value("${migration.tasks.timeout:PT30S}") Duration taskTimeout) {
+    return worker -> {
+      if (USER_TASK_JOB_TYPE.equals(worker.getType())) {
+        worker.setTimeout(taskTimeout);
+      }
+    };
+  }
+}
@@ -0,0 +1,77 @@
+package org.camunda.community.migration.processInstance.dto;
+
+import java.util.List;
+
+public class BulkMigrationOutcome {
+  private String camunda7ProcessInstanceId;
+  private Long camunda8ProcessInstanceKey;
+  private BulkMigrationState state;
+  private String error;
+  private List<String> migrationHints;
+
+  public static BulkMigrationOutcome of(
+      String camunda7ProcessInstanceId,
+      Long camunda8ProcessInstanceKey,
+      BulkMigrationState state,
+      String error) {
+    BulkMigrationOutcome outcome = new BulkMigrationOutcome();
+    outcome.setCamunda7ProcessInstanceId(camunda7ProcessInstanceId);
+    outcome.setCamunda8ProcessInstanceKey(camunda8ProcessInstanceKey);
+    outcome.setState(state);
+    outcome.setError(error);
+    return outcome;
+  }
+
+  public String getCamunda7ProcessInstanceId() {
+    return camunda7ProcessInstanceId;
+  }
+
+  public void setCamunda7ProcessInstanceId(String camunda7ProcessInstanceId) {
+    this.camunda7ProcessInstanceId = camunda7ProcessInstanceId;
+  }
+
+  public Long getCamunda8ProcessInstanceKey() {
+    return camunda8ProcessInstanceKey;
+  }
+
+  public void setCamunda8ProcessInstanceKey(Long camunda8ProcessInstanceKey) {
+    this.camunda8ProcessInstanceKey = camunda8ProcessInstanceKey;
+  }
+
+  public BulkMigrationState getState() {
+    return state;
+  }
+
+  public void setState(BulkMigrationState state) {
+    this.state = state;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public List<String> getMigrationHints() {
+    return migrationHints;
+  }
+
+  public void setMigrationHints(List<String> migrationHints) {
+    this.migrationHints = migrationHints;
+  }
+
+  public enum BulkMigrationState {
+    /** Started in Camunda 8 and cancelled in Camunda 7 */
+    MIGRATED,
+    /** Not started because of migration hints, still running in Camunda 7 */
+    SKIPPED,
+    /** Could not be started in Camunda 8, still running in Camunda 7 */
+    START_FAILED,
+    /** Could not be cancelled in Camunda 7, the Camunda 8 instance has been cancelled instead */
+    CANCEL_FAILED,
+    /** Could neither be cancelled in Camunda 7 nor in Camunda 8, now running in both */
+    ROLLBACK_FAILED
+  }
+}
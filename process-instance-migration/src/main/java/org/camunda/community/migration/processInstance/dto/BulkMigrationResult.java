@@ -0,0 +1,33 @@
+package org.camunda.community.migration.processInstance.dto;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationOutcome.BulkMigrationState;
+
+public class BulkMigrationResult {
+  private List<BulkMigrationOutcome> outcomes;
+  private long durationMillis;
+
+  public List<BulkMigrationOutcome> getOutcomes() {
+    return outcomes;
+  }
+
+  public void setOutcomes(List<BulkMigrationOutcome> outcomes) {
+    this.outcomes = outcomes;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public void setDurationMillis(long durationMillis) {
+    this.durationMillis = durationMillis;
+  }
+
+  public Map<BulkMigrationState, Long> getCounts() {
+    Map<BulkMigrationState, Long> counts = new EnumMap<>(BulkMigrationState.class);
+    outcomes.forEach(outcome -> counts.merge(outcome.getState(), 1L, Long::sum));
+    return counts;
+  }
+}
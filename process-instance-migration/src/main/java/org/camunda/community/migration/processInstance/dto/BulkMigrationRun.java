@@ -0,0 +1,85 @@
+package org.camunda.community.migration.processInstance.dto;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationOutcome.BulkMigrationState;
+
+/**
+ * A bulk migration running in the background. Only the counts per state and the outcomes of process
+ * instances that were not migrated are kept.
+ */
+public class BulkMigrationRun {
+  private final String id;
+  private final String bpmnProcessId;
+  private final long start = System.nanoTime();
+  private final Map<BulkMigrationState, Long> counts = new EnumMap<>(BulkMigrationState.class);
+  private final List<BulkMigrationOutcome> failures = new ArrayList<>();
+  private BulkMigrationRunState state = BulkMigrationRunState.RUNNING;
+  private long durationMillis;
+  private String error;
+
+  public BulkMigrationRun(String id, String bpmnProcessId) {
+    this.id = id;
+    this.bpmnProcessId = bpmnProcessId;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getBpmnProcessId() {
+    return bpmnProcessId;
+  }
+
+  public synchronized BulkMigrationRunState getState() {
+    return state;
+  }
+
+  public synchronized Map<BulkMigrationState, Long> getCounts() {
+    return new EnumMap<>(counts);
+  }
+
+  public synchronized List<BulkMigrationOutcome> getFailures() {
+    return List.copyOf(failures);
+  }
+
+  public synchronized long getDurationMillis() {
+    return state == BulkMigrationRunState.RUNNING
+        ? (System.nanoTime() - start) / 1_000_000
+        : durationMillis;
+  }
+
+  public synchronized String getError() {
+    return error;
+  }
+
+  public synchronized void record(BulkMigrationOutcome outcome) {
+    counts.merge(outcome.getState(), 1L, Long::sum);
+    if (outcome.getState() != BulkMigrationState.MIGRATED) {
+      failures.add(outcome);
+    }
+  }
+
+  public synchronized void complete() {
+    finish(BulkMigrationRunState.COMPLETED, null);
+  }
+
+  public synchronized void fail(String error) {
+    finish(BulkMigrationRunState.FAILED, error);
+  }
+
+  private void finish(BulkMigrationRunState state, String error) {
+    this.durationMillis = (System.nanoTime() - start) / 1_000_000;
+    this.state = state;
+    this.error = error;
+  }
+
+  public enum BulkMigrationRunState {
+    RUNNING,
+    COMPLETED,
+    /** The run was aborted, the counts contain the process instances handled until then */
+    FAILED
+  }
+}
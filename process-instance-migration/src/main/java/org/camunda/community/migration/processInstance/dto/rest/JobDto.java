@@ -5,6 +5,7 @@ import java.util.ArrayList;
 public class JobDto {
   private String id;
   private String jobDefinitionId;
+  private String processInstanceId;
 
   public String getId() {
     return id;
@@ -22,5 +23,13 @@ public class JobDto {
     this.jobDefinitionId = jobDefinitionId;
   }
 
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public void setProcessInstanceId(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+  }
+
   public static class JobQueryResultDto extends ArrayList<JobDto> {}
 }
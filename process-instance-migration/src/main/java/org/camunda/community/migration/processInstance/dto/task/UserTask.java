@@ -53,6 +53,7 @@ public class UserTask {
 
   public enum TaskState {
     CREATED,
+    COMPLETING,
     COMPLETED,
     CANCELED
   }
@@ -0,0 +1,55 @@
+package org.camunda.community.migration.processInstance.properties;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@ConfigurationProperties("migration.bulk")
+@Configuration
+public class BulkMigrationProperties {
+  private Integer maxInFlight = 256;
+  private Integer initialInFlight = 32;
+  private Integer cancellationParallelism = 16;
+  private Integer maxRetries = 10;
+  private Duration retryBackoff = Duration.ofMillis(500);
+
+  public Integer getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public void setMaxInFlight(Integer maxInFlight) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  public Integer getInitialInFlight() {
+    return initialInFlight;
+  }
+
+  public void setInitialInFlight(Integer initialInFlight) {
+    this.initialInFlight = initialInFlight;
+  }
+
+  public Integer getCancellationParallelism() {
+    return cancellationParallelism;
+  }
+
+  public void setCancellationParallelism(Integer cancellationParallelism) {
+    this.cancellationParallelism = cancellationParallelism;
+  }
+
+  public Integer getMaxRetries() {
+    return maxRetries;
+  }
+
+  public void setMaxRetries(Integer maxRetries) {
+    this.maxRetries = maxRetries;
+  }
+
+  public Duration getRetryBackoff() {
+    return retryBackoff;
+  }
+
+  public void setRetryBackoff(Duration retryBackoff) {
+    this.retryBackoff = retryBackoff;
+  }
+}
@@ -1,5 +1,6 @@
 package org.camunda.community.migration.processInstance.properties;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,6 +10,17 @@ public class Camunda7ClientProperties {
   private String baseUrl;
   private String restApiContext;
   private Boolean checkOnInit;
+  private Integer pageSize = 500;
+  private Boolean prefetch = true;
+  private Integer extractionParallelism = 8;
+  private Integer suspensionParallelism = 16;
+  private Integer suspensionRetries = 3;
+  private Integer processDefinitionCacheSize = 100;
+  private Camunda7ClientType type = Camunda7ClientType.REST_TEMPLATE;
+  private Integer maxConcurrentRequests = 64;
+  private Boolean http2 = true;
+  private Duration connectTimeout = Duration.ofSeconds(10);
+  private Duration requestTimeout = Duration.ofSeconds(60);
   private Camunda7ClientAuthentication authentication = new Camunda7ClientAuthentication();
 
   public String getRestApiContext() {
@@ -27,6 +39,94 @@ public class Camunda7ClientProperties {
     this.checkOnInit = checkOnInit;
   }
 
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(Integer pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public Boolean getPrefetch() {
+    return prefetch;
+  }
+
+  public void setPrefetch(Boolean prefetch) {
+    this.prefetch = prefetch;
+  }
+
+  public Integer getExtractionParallelism() {
+    return extractionParallelism;
+  }
+
+  public void setExtractionParallelism(Integer extractionParallelism) {
+    this.extractionParallelism = extractionParallelism;
+  }
+
+  public Integer getProcessDefinitionCacheSize() {
+    return processDefinitionCacheSize;
+  }
+
+  public void setProcessDefinitionCacheSize(Integer processDefinitionCacheSize) {
+    this.processDefinitionCacheSize = processDefinitionCacheSize;
+  }
+
+  public Integer getSuspensionParallelism() {
+    return suspensionParallelism;
+  }
+
+  public void setSuspensionParallelism(Integer suspensionParallelism) {
+    this.suspensionParallelism = suspensionParallelism;
+  }
+
+  public Integer getSuspensionRetries() {
+    return suspensionRetries;
+  }
+
+  public void setSuspensionRetries(Integer suspensionRetries) {
+    this.suspensionRetries = suspensionRetries;
+  }
+
+  public Camunda7ClientType getType() {
+    return type;
+  }
+
+  public void setType(Camunda7ClientType type) {
+    this.type = type;
+  }
+
+  public Integer getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+  }
+
+  public Boolean getHttp2() {
+    return http2;
+  }
+
+  public void setHttp2(Boolean http2) {
+    this.http2 = http2;
+  }
+
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public void setConnectTimeout(Duration connectTimeout) {
+    this.connectTimeout = connectTimeout;
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  public void setRequestTimeout(Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+  }
+
   public Camunda7ClientAuthentication getAuthentication() {
     return authentication;
   }
@@ -43,6 +143,11 @@ public class Camunda7ClientProperties {
     this.baseUrl = baseUrl;
   }
 
+  public enum Camunda7ClientType {
+    REST_TEMPLATE,
+    ASYNC
+  }
+
   public static class Camunda7ClientAuthentication {
     private Camunda7BasicAuthAuthentication basicAuth = new Camunda7BasicAuthAuthentication();
     private String custom;
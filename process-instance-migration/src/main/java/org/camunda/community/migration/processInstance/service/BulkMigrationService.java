@@ -0,0 +1,370 @@
+package org.camunda.community.migration.processInstance.service;
+
+import io.camunda.zeebe.client.api.response.ProcessInstanceEvent;
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationOutcome;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationOutcome.BulkMigrationState;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationResult;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationRun;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessDefinitionData;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstanceData;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstanceData.ActivityData;
+import org.camunda.community.migration.processInstance.properties.BulkMigrationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Migrates many process instances without a BPMN flow per instance. Create commands are sent
+ * without waiting for each other, the number of commands in flight adapts to the backpressure of
+ * the gateway. Once a creation is confirmed, the Camunda 7 process instance is cancelled.
+ *
+ * <p>Process instances with migration hints are skipped, as there is nobody to review them like in
+ * the selection task of the BPMN flow.
+ */
+@Service
+public class BulkMigrationService {
+  private static final Logger LOG = LoggerFactory.getLogger(BulkMigrationService.class);
+  private static final int MAX_RUNS = 100;
+  private final Camunda7Service camunda7Service;
+  private final Camunda8Service camunda8Service;
+  private final BulkMigrationProperties properties;
+  private final ExecutorService cancellationExecutor;
+  private final ExecutorService runExecutor;
+  // the latest runs, older ones are dropped
+  private final Map<String, BulkMigrationRun> runs =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Entry<String, BulkMigrationRun> eldest) {
+              return size() > MAX_RUNS;
+            }
+          });
+
+  public BulkMigrationService(
+      Camunda7Service camunda7Service,
+      Camunda8Service camunda8Service,
+      BulkMigrationProperties properties) {
+    this.camunda7Service = camunda7Service;
+    this.camunda8Service = camunda8Service;
+    this.properties = properties;
+    this.cancellationExecutor =
+        Executors.newFixedThreadPool(
+            properties.getCancellationParallelism(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "bulk-migration-cancellation");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.runExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "bulk-migration-run");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    runExecutor.shutdownNow();
+    cancellationExecutor.shutdownNow();
+  }
+
+  /**
+   * Starts the migration of all process instances of the latest version of the Camunda 7 process
+   * definition in the background. The process definition is suspended while migrating.
+   *
+   * @param bpmnProcessId the process definition key in Camunda 7, bpmn process id in Camunda 8
+   * @return the run, its progress can be queried with {@link #getRun(String)}
+   */
+  public BulkMigrationRun start(String bpmnProcessId) {
+    Camunda7ProcessDefinitionData processDefinition =
+        camunda7Service.getLatestProcessDefinition(bpmnProcessId);
+    if (processDefinition.getProcessDefinition() == null) {
+      throw new IllegalArgumentException(
+          "No process definition with key '" + bpmnProcessId + "' found in Camunda 7");
+    }
+    String processDefinitionId = processDefinition.getProcessDefinition().getId();
+    BulkMigrationRun run = new BulkMigrationRun(UUID.randomUUID().toString(), bpmnProcessId);
+    runs.put(run.getId(), run);
+    runExecutor.execute(
+        () -> {
+          try {
+            migrate(bpmnProcessId, processDefinitionId, run);
+            run.complete();
+          } catch (RuntimeException e) {
+            LOG.error("Bulk migration '{}' of '{}' failed", run.getId(), bpmnProcessId, e);
+            run.fail(e.getMessage());
+          }
+        });
+    return run;
+  }
+
+  public BulkMigrationRun getRun(String runId) {
+    return runs.get(runId);
+  }
+
+  private void migrate(String bpmnProcessId, String processDefinitionId, BulkMigrationRun run) {
+    camunda7Service.suspendProcessDefinition(processDefinitionId, true);
+    try {
+      migrate(
+          bpmnProcessId,
+          camunda7Service.getProcessData(
+              camunda7Service.getProcessInstancesByProcessDefinitionId(processDefinitionId)),
+          run::record);
+      LOG.info(
+          "Migrated process instances of '{}' in {} ms: {}",
+          bpmnProcessId,
+          run.getDurationMillis(),
+          run.getCounts());
+    } finally {
+      camunda7Service.suspendProcessDefinition(processDefinitionId, false);
+    }
+  }
+
+  /**
+   * Migrates the given process instances. The stream is consumed as fast as the gateway accepts new
+   * process instances.
+   *
+   * @param bpmnProcessId the bpmn process id in Camunda 8
+   * @param processInstances the extracted Camunda 7 process instances
+   * @return the outcome per process instance, in the order of completion
+   */
+  public BulkMigrationResult migrate(
+      String bpmnProcessId, Stream<Camunda7ProcessInstanceData> processInstances) {
+    long start = System.nanoTime();
+    List<BulkMigrationOutcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+    migrate(bpmnProcessId, processInstances, outcomes::add);
+    BulkMigrationResult result = new BulkMigrationResult();
+    result.setOutcomes(new ArrayList<>(outcomes));
+    result.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return result;
+  }
+
+  private void migrate(
+      String bpmnProcessId,
+      Stream<Camunda7ProcessInstanceData> processInstances,
+      Consumer<BulkMigrationOutcome> outcomeConsumer) {
+    InFlightLimit limit =
+        new InFlightLimit(properties.getInitialInFlight(), properties.getMaxInFlight());
+    Iterator<Camunda7ProcessInstanceData> iterator = processInstances.iterator();
+    try {
+      while (iterator.hasNext()) {
+        Camunda7ProcessInstanceData processInstance = iterator.next();
+        List<String> migrationHints = processInstance.getMigrationHints();
+        if (migrationHints != null && !migrationHints.isEmpty()) {
+          LOG.info(
+              "Skipping process instance '{}': {}",
+              processInstance.getProcessInstanceId(),
+              migrationHints);
+          BulkMigrationOutcome outcome =
+              BulkMigrationOutcome.of(
+                  processInstance.getProcessInstanceId(), null, BulkMigrationState.SKIPPED, null);
+          outcome.setMigrationHints(List.copyOf(migrationHints));
+          outcomeConsumer.accept(outcome);
+          continue;
+        }
+        limit.acquire();
+        migrate(bpmnProcessId, processInstance, limit)
+            .whenComplete(
+                (outcome, error) -> {
+                  try {
+                    if (error != null) {
+                      LOG.error(
+                          "Could not migrate process instance '{}'",
+                          processInstance.getProcessInstanceId(),
+                          error);
+                    } else {
+                      outcomeConsumer.accept(outcome);
+                    }
+                  } finally {
+                    limit.release(
+                        error == null && outcome.getState() != BulkMigrationState.START_FAILED);
+                  }
+                });
+      }
+    } finally {
+      // also if the stream fails, nothing must be in flight once the caller continues
+      limit.awaitEmpty();
+    }
+  }
+
+  private CompletableFuture<BulkMigrationOutcome> migrate(
+      String bpmnProcessId, Camunda7ProcessInstanceData processInstance, InFlightLimit limit) {
+    String camunda7ProcessInstanceId = processInstance.getProcessInstanceId();
+    return start(bpmnProcessId, processInstance, limit, 1)
+        .handle(
+            (event, startError) -> {
+              if (startError != null) {
+                return CompletableFuture.completedFuture(
+                    BulkMigrationOutcome.of(
+                        camunda7ProcessInstanceId,
+                        null,
+                        BulkMigrationState.START_FAILED,
+                        unwrap(startError).getMessage()));
+              }
+              // from here on, the process instance runs in Camunda 8, every failure is rolled back
+              long camunda8ProcessInstanceKey = event.getProcessInstanceKey();
+              CompletableFuture<BulkMigrationOutcome> cancelled;
+              try {
+                cancelled =
+                    CompletableFuture.supplyAsync(
+                        () ->
+                            cancelInCamunda7(camunda7ProcessInstanceId, camunda8ProcessInstanceKey),
+                        cancellationExecutor);
+              } catch (RejectedExecutionException e) {
+                cancelled = CompletableFuture.failedFuture(e);
+              }
+              return cancelled.exceptionally(
+                  e -> rollback(camunda7ProcessInstanceId, camunda8ProcessInstanceKey, unwrap(e)));
+            })
+        .thenCompose(outcome -> outcome);
+  }
+
+  private CompletableFuture<ProcessInstanceEvent> start(
+      String bpmnProcessId,
+      Camunda7ProcessInstanceData processInstance,
+      InFlightLimit limit,
+      int attempt) {
+    CompletableFuture<ProcessInstanceEvent> future;
+    try {
+      future =
+          camunda8Service.startMigratedProcessInstanceAsync(
+              bpmnProcessId,
+              processInstance.getActivities().stream().map(ActivityData::getId).toList(),
+              variables(processInstance));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return future.exceptionallyCompose(
+        e -> {
+          if (attempt > properties.getMaxRetries()
+              || Status.fromThrowable(unwrap(e)).getCode() != Code.RESOURCE_EXHAUSTED) {
+            return CompletableFuture.failedFuture(e);
+          }
+          limit.decrease();
+          Executor delayed =
+              CompletableFuture.delayedExecutor(
+                  properties.getRetryBackoff().toMillis() * attempt, TimeUnit.MILLISECONDS);
+          return CompletableFuture.supplyAsync(() -> null, delayed)
+              .thenCompose(ignored -> start(bpmnProcessId, processInstance, limit, attempt + 1));
+        });
+  }
+
+  private BulkMigrationOutcome cancelInCamunda7(
+      String camunda7ProcessInstanceId, long camunda8ProcessInstanceKey) {
+    try {
+      camunda7Service.cancelProcessInstance(camunda7ProcessInstanceId, camunda8ProcessInstanceKey);
+      return BulkMigrationOutcome.of(
+          camunda7ProcessInstanceId, camunda8ProcessInstanceKey, BulkMigrationState.MIGRATED, null);
+    } catch (Exception e) {
+      return rollback(camunda7ProcessInstanceId, camunda8ProcessInstanceKey, e);
+    }
+  }
+
+  private BulkMigrationOutcome rollback(
+      String camunda7ProcessInstanceId, long camunda8ProcessInstanceKey, Throwable e) {
+    LOG.warn(
+        "Could not cancel process instance '{}', cancelling '{}' instead",
+        camunda7ProcessInstanceId,
+        camunda8ProcessInstanceKey,
+        e);
+    try {
+      camunda8Service.cancelProcessInstance(camunda8ProcessInstanceKey);
+      return BulkMigrationOutcome.of(
+          camunda7ProcessInstanceId,
+          camunda8ProcessInstanceKey,
+          BulkMigrationState.CANCEL_FAILED,
+          e.getMessage());
+    } catch (Throwable rollbackError) {
+      return BulkMigrationOutcome.of(
+          camunda7ProcessInstanceId,
+          camunda8ProcessInstanceKey,
+          BulkMigrationState.ROLLBACK_FAILED,
+          rollbackError.getMessage());
+    }
+  }
+
+  private static Map<String, Object> variables(Camunda7ProcessInstanceData processInstance) {
+    Map<String, Object> variables = new HashMap<>();
+    processInstance
+        .getProcessVariables()
+        .forEach((name, variable) -> variables.put(name, variable.getValue()));
+    variables.put("camunda7ProcessInstanceId", processInstance.getProcessInstanceId());
+    return variables;
+  }
+
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  /**
+   * Limits the process instances in flight. The limit is increased by one on every successful start
+   * and halved on backpressure.
+   */
+  private static class InFlightLimit {
+    private final int max;
+    private int limit;
+    private int inFlight;
+
+    InFlightLimit(int initial, int max) {
+      this.max = max;
+      this.limit = Math.max(1, Math.min(initial, max));
+    }
+
+    synchronized void acquire() {
+      while (inFlight >= limit) {
+        await();
+      }
+      inFlight++;
+    }
+
+    synchronized void release(boolean started) {
+      inFlight--;
+      if (started && limit < max) {
+        limit++;
+      }
+      notifyAll();
+    }
+
+    synchronized void decrease() {
+      limit = Math.max(1, limit / 2);
+    }
+
+    synchronized void awaitEmpty() {
+      while (inFlight > 0) {
+        await();
+      }
+    }
+
+    private void await() {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for process instances", e);
+      }
+    }
+  }
+}
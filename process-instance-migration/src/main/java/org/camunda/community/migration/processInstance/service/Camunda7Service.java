@@ -3,14 +3,37 @@ package org.camunda.community.migration.processInstance.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.camunda.community.migration.processInstance.client.Camunda7AsyncClient;
 import org.camunda.community.migration.processInstance.client.Camunda7Client;
 import org.camunda.community.migration.processInstance.client.Camunda7Client.Camunda7JobConfiguration;
 import org.camunda.community.migration.processInstance.client.Camunda7Client.Camunda7JobType;
@@ -22,20 +45,62 @@ import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstan
 import org.camunda.community.migration.processInstance.dto.client.ActivityInstanceDto;
 import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto;
 import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.VariableInstanceDto;
+import org.camunda.community.migration.processInstance.dto.rest.JobDto;
+import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
 
 @Service
 public class Camunda7Service {
+  private static final Logger LOG = LoggerFactory.getLogger(Camunda7Service.class);
+  private static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+  // job definitions that are never continued by this service are forgotten after this time
+  private static final Duration SUSPENDED_SINCE_RETENTION = Duration.ofDays(7);
   private final Camunda7Client camunda7Client;
   private final Set<ProcessInstanceMigrationHintRule> processInstanceMigrationHintRules;
+  private final Camunda7ClientProperties properties;
+  private final ExecutorService extractionExecutor;
+  private final ExecutorService suspensionExecutor;
+  private final Map<String, Instant> suspendedSince = new ConcurrentHashMap<>();
+  // process definitions are immutable, they can be cached by id
+  private final Map<String, ProcessDefinitionDto> processDefinitions;
 
   @Autowired
   public Camunda7Service(
       Camunda7Client camunda7Client,
-      Set<ProcessInstanceMigrationHintRule> processInstanceMigrationHintRules) {
+      Set<ProcessInstanceMigrationHintRule> processInstanceMigrationHintRules,
+      Camunda7ClientProperties properties) {
     this.camunda7Client = camunda7Client;
     this.processInstanceMigrationHintRules = processInstanceMigrationHintRules;
+    this.properties = properties;
+    this.processDefinitions =
+        Collections.synchronizedMap(new LruCache<>(properties.getProcessDefinitionCacheSize()));
+    this.extractionExecutor =
+        Executors.newFixedThreadPool(
+            properties.getExtractionParallelism(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "camunda7-extraction");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.suspensionExecutor =
+        Executors.newFixedThreadPool(
+            properties.getSuspensionParallelism(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "camunda7-suspension");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    extractionExecutor.shutdownNow();
+    suspensionExecutor.shutdownNow();
   }
 
   private List<String> getMigrationHints(Camunda7ProcessInstanceData processData) {
@@ -47,40 +112,142 @@ public class Camunda7Service {
   }
 
   public Camunda7ProcessInstanceData getProcessData(String camunda7ProcessInstanceId) {
-    Camunda7ProcessInstanceData processData = new Camunda7ProcessInstanceData();
-    processData.setProcessInstanceId(camunda7ProcessInstanceId);
-    // process definition key
     ProcessInstanceDto processInstance =
         camunda7Client.getProcessInstance(camunda7ProcessInstanceId);
-    ProcessDefinitionDto processDefinition =
-        camunda7Client.getProcessDefinition(processInstance.getDefinitionId());
-    processData.setProcessDefinitionKey(processDefinition.getKey());
-    // variables
-    Map<String, ProcessVariableData> variables = new HashMap<>();
-    JsonNode businessKey =
-        processInstance.getBusinessKey() == null
-            ? NullNode.getInstance()
-            : TextNode.valueOf(processInstance.getBusinessKey());
-    variables.put("businessKey", ProcessVariableData.of(businessKey, camunda7ProcessInstanceId));
-    camunda7Client
-        .getVariableInstances(camunda7ProcessInstanceId)
-        .forEach(
-            (variable) ->
-                variables.put(
-                    variable.getName(),
-                    ProcessVariableData.of(variable.getValue(), variable.getExecutionId())));
-    processData.setProcessVariables(variables);
-    // activity ids
-    ActivityInstanceDto activities = camunda7Client.getActivityInstances(camunda7ProcessInstanceId);
-    processData.setActivities(extractFromTree(activities));
-    processData.setMigrationHints(getMigrationHints(processData));
-    processData.setBusinessKey(processInstance.getBusinessKey());
-    processData.setJobData(getJobs(camunda7ProcessInstanceId));
+    Camunda7ProcessInstanceData processData =
+        getProcessData(List.of(processInstance)).get(camunda7ProcessInstanceId);
+    if (processData == null) {
+      throw new IllegalStateException(
+          "Error while loading the activity instances of process instance "
+              + camunda7ProcessInstanceId);
+    }
     return processData;
   }
 
-  private List<JobData> getJobs(String camunda7ProcessInstanceId) {
-    return camunda7Client.getJobs(camunda7ProcessInstanceId).stream()
+  /**
+   * Extracts the data of a page of process instances. Variables and jobs are queried for the whole
+   * page, activity instance trees are queried concurrently. Process instances whose activity
+   * instance tree cannot be loaded, e.g. because they have ended meanwhile, are left out.
+   *
+   * @param processInstances the process instances to extract the data from
+   * @return the data per process instance id, in the order of the given process instances
+   */
+  public Map<String, Camunda7ProcessInstanceData> getProcessData(
+      List<ProcessInstanceDto> processInstances) {
+    if (processInstances.isEmpty()) {
+      return Map.of();
+    }
+    List<String> processInstanceIds =
+        processInstances.stream().map(ProcessInstanceDto::getId).toList();
+    Map<String, CompletableFuture<ActivityInstanceDto>> activities = new HashMap<>();
+    processInstanceIds.forEach(
+        id ->
+            activities.put(
+                id,
+                CompletableFuture.supplyAsync(
+                    () -> camunda7Client.getActivityInstances(id), extractionExecutor)));
+    Map<String, List<VariableInstanceDto>> variableInstances =
+        camunda7Client.getVariableInstances(processInstanceIds).stream()
+            .collect(Collectors.groupingBy(VariableInstanceDto::getProcessInstanceId));
+    Map<String, List<JobDto>> jobs =
+        camunda7Client.getJobs(processInstanceIds).stream()
+            .collect(Collectors.groupingBy(JobDto::getProcessInstanceId));
+    Map<String, Camunda7ProcessInstanceData> result = new LinkedHashMap<>();
+    for (ProcessInstanceDto processInstance : processInstances) {
+      String processInstanceId = processInstance.getId();
+      ActivityInstanceDto activityInstance;
+      try {
+        activityInstance = join(activities.get(processInstanceId));
+      } catch (RuntimeException e) {
+        LOG.warn(
+            "Skipping process instance {}, its activity instances could not be loaded",
+            processInstanceId,
+            e);
+        continue;
+      }
+      Camunda7ProcessInstanceData processData = new Camunda7ProcessInstanceData();
+      processData.setProcessInstanceId(processInstanceId);
+      // process definition key
+      processData.setProcessDefinitionKey(
+          getProcessDefinition(processInstance.getDefinitionId()).getKey());
+      // variables
+      Map<String, ProcessVariableData> variables = new HashMap<>();
+      JsonNode businessKey =
+          processInstance.getBusinessKey() == null
+              ? NullNode.getInstance()
+              : TextNode.valueOf(processInstance.getBusinessKey());
+      variables.put("businessKey", ProcessVariableData.of(businessKey, processInstanceId));
+      variableInstances
+          .getOrDefault(processInstanceId, List.of())
+          .forEach(
+              (variable) ->
+                  variables.put(
+                      variable.getName(),
+                      ProcessVariableData.of(variable.getValue(), variable.getExecutionId())));
+      processData.setProcessVariables(variables);
+      // activity ids
+      processData.setActivities(extractFromTree(activityInstance));
+      processData.setMigrationHints(getMigrationHints(processData));
+      processData.setBusinessKey(processInstance.getBusinessKey());
+      processData.setJobData(getJobs(jobs.getOrDefault(processInstanceId, List.of())));
+      result.put(processInstanceId, processData);
+    }
+    return result;
+  }
+
+  /**
+   * Extracts the data of the given process instances page by page
+   *
+   * @param processInstances the process instances to extract the data from
+   * @return the data of the process instances, in the given order
+   */
+  public Stream<Camunda7ProcessInstanceData> getProcessData(
+      Stream<ProcessInstanceDto> processInstances) {
+    Iterator<ProcessInstanceDto> iterator = processInstances.iterator();
+    Iterator<List<ProcessInstanceDto>> pages =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public List<ProcessInstanceDto> next() {
+            List<ProcessInstanceDto> page = new ArrayList<>();
+            while (iterator.hasNext() && page.size() < properties.getPageSize()) {
+              page.add(iterator.next());
+            }
+            return page;
+          }
+        };
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+        .flatMap(page -> getProcessData(page).values().stream());
+  }
+
+  private ProcessDefinitionDto getProcessDefinition(String processDefinitionId) {
+    ProcessDefinitionDto processDefinition = processDefinitions.get(processDefinitionId);
+    if (processDefinition == null) {
+      // loaded outside of the lock, a definition loaded twice concurrently is the same
+      processDefinition = camunda7Client.getProcessDefinition(processDefinitionId);
+      processDefinitions.put(processDefinitionId, processDefinition);
+    }
+    return processDefinition;
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private List<JobData> getJobs(List<JobDto> jobs) {
+    return jobs.stream()
         .map(
             dto -> {
               JobData data = new JobData();
@@ -137,9 +304,17 @@ public class Camunda7Service {
     camunda7Client.cancelProcessInstance(camunda7ProcessInstanceId);
   }
 
-  public List<ProcessInstanceDto> getProcessInstancesByProcessDefinitionId(
+  /**
+   * Streams the process instances page by page. Process instances that are cancelled while
+   * streaming are detected by the client, so the stream can be consumed while migrating. Process
+   * instances started while streaming are only contained if their id sorts after the current page.
+   *
+   * @param processDefinitionId the process definition id
+   * @return the process instances, sorted by id
+   */
+  public Stream<ProcessInstanceDto> getProcessInstancesByProcessDefinitionId(
       String processDefinitionId) {
-    return camunda7Client.getProcessInstancesByProcessDefinition(processDefinitionId);
+    return camunda7Client.streamProcessInstancesByProcessDefinition(processDefinitionId);
   }
 
   public Camunda7ProcessDefinitionData getLatestProcessDefinition(String bpmnProcessId) {
@@ -157,28 +332,109 @@ public class Camunda7Service {
     return data;
   }
 
+  /**
+   * Suspends the job definitions concurrently. The time of suspension is remembered per job
+   * definition, also if others fail, to report the length of the suspended window on {@link
+   * #continueJobDefinitions(Set)}.
+   *
+   * @param selectedJobDefinitions the ids of the job definitions to suspend
+   */
   public void suspendJobDefinitions(Set<String> selectedJobDefinitions) {
-    selectedJobDefinitions.forEach(jobId -> camunda7Client.suspendJobDefinition(jobId, true));
+    Instant expiry = Instant.now().minus(SUSPENDED_SINCE_RETENTION);
+    suspendedSince.values().removeIf(since -> since.isBefore(expiry));
+    setJobDefinitionsSuspended(
+        selectedJobDefinitions, true, id -> suspendedSince.putIfAbsent(id, Instant.now()));
   }
 
-  public List<Camunda7ProcessInstanceData>
+  public Stream<Camunda7ProcessInstanceData>
       getProcessInstancesByProcessDefinitionIdAndExclusiveActivityIds(
           String camunda7ProcessDefinitionId, Collection<String> activityIds) {
-    return camunda7Client
-        .getProcessInstancesByProcessDefinitionAndActivityIds(
-            camunda7ProcessDefinitionId, activityIds)
-        .stream()
-        .map(pi -> getProcessData(pi.getId()))
+    return getProcessData(
+            camunda7Client.streamProcessInstancesByProcessDefinitionAndActivityIds(
+                camunda7ProcessDefinitionId, activityIds))
         .filter(
             pi ->
                 pi.getActivities().stream()
                     .filter(ActivityData::getLeaf)
                     .map(ActivityData::getId)
-                    .allMatch(activityIds::contains))
-        .collect(Collectors.toList());
+                    .allMatch(activityIds::contains));
+  }
+
+  /**
+   * Activates the job definitions concurrently.
+   *
+   * @param selectedJobDefinitions the ids of the job definitions to activate
+   * @return the longest time one of the job definitions has been suspended, empty if none of them
+   *     was suspended by this service
+   */
+  public Optional<Duration> continueJobDefinitions(Set<String> selectedJobDefinitions) {
+    setJobDefinitionsSuspended(selectedJobDefinitions, false, id -> {});
+    Instant now = Instant.now();
+    return selectedJobDefinitions.stream()
+        .map(suspendedSince::remove)
+        .filter(Objects::nonNull)
+        .map(since -> Duration.between(since, now))
+        .max(Comparator.naturalOrder());
+  }
+
+  private void setJobDefinitionsSuspended(
+      Set<String> jobDefinitionIds, boolean suspended, Consumer<String> onSuccess) {
+    long start = System.nanoTime();
+    Map<String, CompletableFuture<Void>> calls = new LinkedHashMap<>();
+    jobDefinitionIds.forEach(
+        id ->
+            calls.put(
+                id,
+                withRetry(() -> suspendJobDefinitionAsync(id, suspended), 1)
+                    .thenRun(() -> onSuccess.accept(id))));
+    List<String> failed = new ArrayList<>();
+    RuntimeException failure = null;
+    for (Entry<String, CompletableFuture<Void>> call : calls.entrySet()) {
+      try {
+        join(call.getValue());
+      } catch (RuntimeException e) {
+        failed.add(call.getKey());
+        failure = e;
+      }
+    }
+    if (failure != null) {
+      throw new IllegalStateException(
+          "Could not " + (suspended ? "suspend" : "activate") + " job definitions " + failed,
+          failure);
+    }
+    LOG.debug(
+        "{} {} job definitions in {} ms",
+        suspended ? "Suspended" : "Activated",
+        jobDefinitionIds.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  private CompletableFuture<Void> suspendJobDefinitionAsync(
+      String jobDefinitionId, boolean suspended) {
+    if (camunda7Client instanceof Camunda7AsyncClient asyncClient) {
+      return asyncClient.suspendJobDefinitionAsync(jobDefinitionId, suspended);
+    }
+    return CompletableFuture.runAsync(
+        () -> camunda7Client.suspendJobDefinition(jobDefinitionId, suspended), suspensionExecutor);
   }
 
-  public void continueJobDefinitions(Set<String> selectedJobDefinitions) {
-    selectedJobDefinitions.forEach(jobId -> camunda7Client.suspendJobDefinition(jobId, false));
+  private <T> CompletableFuture<T> withRetry(Supplier<CompletableFuture<T>> call, int attempt) {
+    return call.get()
+        .exceptionallyCompose(
+            e -> {
+              Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+              // client errors like a missing job definition will not go away by retrying
+              if (attempt > properties.getSuspensionRetries()
+                  || (cause instanceof RestClientResponseException responseException
+                      && responseException.getStatusCode().is4xxClientError())) {
+                return CompletableFuture.failedFuture(cause);
+              }
+              LOG.debug("Retrying after attempt {} failed: {}", attempt, cause.getMessage());
+              Executor delayed =
+                  CompletableFuture.delayedExecutor(
+                      RETRY_BACKOFF.toMillis() * attempt, TimeUnit.MILLISECONDS);
+              return CompletableFuture.supplyAsync(() -> null, delayed)
+                  .thenCompose(ignored -> withRetry(call, attempt + 1));
+            });
   }
 }
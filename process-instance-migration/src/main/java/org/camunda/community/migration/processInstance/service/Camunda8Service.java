@@ -20,20 +20,29 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.camunda.community.migration.processInstance.dto.Camunda8ProcessDefinitionData;
 import org.camunda.community.migration.processInstance.variables.ProcessInstanceMigrationVariables;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class Camunda8Service {
   private final ZeebeClient zeebeClient;
   private final CamundaOperateClient operateClient;
+  // process definition keys are never reused, so cached definitions do not go stale
+  private final Map<Long, Camunda8ProcessDefinitionData> processDefinitions;
 
   @Autowired
-  public Camunda8Service(ZeebeClient zeebeClient, CamundaOperateClient operateClient) {
+  public Camunda8Service(
+      ZeebeClient zeebeClient,
+      CamundaOperateClient operateClient,
+      @Value("${migration.process-definition-cache-size:100}") int processDefinitionCacheSize) {
     this.zeebeClient = zeebeClient;
     this.operateClient = operateClient;
+    this.processDefinitions =
+        Collections.synchronizedMap(new LruCache<>(processDefinitionCacheSize));
   }
 
   public PublishMessageResponse startProcessInstanceMigration(String bpmnProcessId) {
@@ -63,6 +72,20 @@ public class Camunda8Service {
 
   public ProcessInstanceEvent startMigratedProcessInstance(
       String bpmnProcessId, List<String> activityIds, Map<String, Object> variables) {
+    return createMigratedProcessInstanceCommand(bpmnProcessId, activityIds, variables)
+        .send()
+        .join();
+  }
+
+  public CompletableFuture<ProcessInstanceEvent> startMigratedProcessInstanceAsync(
+      String bpmnProcessId, List<String> activityIds, Map<String, Object> variables) {
+    return createMigratedProcessInstanceCommand(bpmnProcessId, activityIds, variables)
+        .send()
+        .toCompletableFuture();
+  }
+
+  private CreateProcessInstanceCommandStep3 createMigratedProcessInstanceCommand(
+      String bpmnProcessId, List<String> activityIds, Map<String, Object> variables) {
     CreateProcessInstanceCommandStep3 command =
         zeebeClient
             .newCreateInstanceCommand()
@@ -70,13 +93,21 @@ public class Camunda8Service {
             .latestVersion()
             .variables(variables);
     activityIds.forEach(command::startBeforeElement);
-    return command.send().join();
+    return command;
   }
 
   public void completeTask(long jobKey, ProcessInstanceMigrationVariables result) {
     zeebeClient.newCompleteCommand(jobKey).variables(result).send().join();
   }
 
+  public CompletableFuture<?> renewTask(long jobKey, Duration timeout) {
+    return zeebeClient
+        .newUpdateTimeoutCommand(jobKey)
+        .timeout(timeout)
+        .send()
+        .toCompletableFuture();
+  }
+
   public void selectProcessInstances(long jobKey, List<String> processInstances) {
     zeebeClient
         .newCompleteCommand(jobKey)
@@ -99,6 +130,15 @@ public class Camunda8Service {
   }
 
   public Camunda8ProcessDefinitionData getProcessDefinitionData(Long processDefinitionKey) {
+    Camunda8ProcessDefinitionData data = processDefinitions.get(processDefinitionKey);
+    if (data == null) {
+      data = loadProcessDefinitionData(processDefinitionKey);
+      processDefinitions.put(processDefinitionKey, data);
+    }
+    return data;
+  }
+
+  private Camunda8ProcessDefinitionData loadProcessDefinitionData(Long processDefinitionKey) {
     Camunda8ProcessDefinitionData data = new Camunda8ProcessDefinitionData();
     try {
       data.setProcessDefinition(operateClient.getProcessDefinition(processDefinitionKey));
@@ -0,0 +1,22 @@
+package org.camunda.community.migration.processInstance.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** A map that evicts the least recently used entry once it holds more than the maximum size. */
+class LruCache<K, V> extends LinkedHashMap<K, V> {
+  private final int maxSize;
+
+  LruCache(int maxSize) {
+    super(16, 0.75f, true);
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be positive, was " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    return size() > maxSize;
+  }
+}
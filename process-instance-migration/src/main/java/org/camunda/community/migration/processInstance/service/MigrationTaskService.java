@@ -1,72 +1,306 @@
 package org.camunda.community.migration.processInstance.service;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.HashSet;
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.camunda.community.migration.processInstance.dto.task.UserTask;
 import org.camunda.community.migration.processInstance.dto.task.UserTask.TaskState;
+import org.camunda.community.migration.processInstance.service.ProcessInstanceIdStore.ProcessInstanceIdBatch;
 import org.camunda.community.migration.processInstance.variables.ProcessInstanceMigrationVariables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Holds the user tasks of the migration processes. Tasks are indexed by state and process instance
+ * key and expire if they are not refreshed in time. Expired tasks are removed by draining a {@link
+ * DelayQueue}, so no access has to look at all tasks.
+ *
+ * <p>The job of an open task is activated once with a short timeout, which is renewed before half
+ * of it has passed. If the node stops, the job times out and is activated again elsewhere. If the
+ * job does not exist anymore, the task is removed. Listeners are notified about every change, so
+ * that clients do not have to poll.
+ */
 @Service
 public class MigrationTaskService {
   private static final Logger LOG = LoggerFactory.getLogger(MigrationTaskService.class);
   private final Camunda8Service camunda8Service;
-  private final Map<Long, UserTask> taskList = new HashMap<>();
-  private final Map<Long, LocalDateTime> timeouts = new HashMap<>();
+  private final ProcessInstanceIdStore processInstanceIdStore;
+  private final Duration taskTimeout;
+  private final Map<Long, UserTask> tasks = new ConcurrentHashMap<>();
+  private final Map<TaskState, Set<Long>> tasksByState = new EnumMap<>(TaskState.class);
+  private final Map<Long, Set<Long>> tasksByProcessInstance = new ConcurrentHashMap<>();
+  // the latest deadline per task, older entries in the queue are ignored
+  private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+  private final DelayQueue<TaskExpiry> expiries = new DelayQueue<>();
+  private final Set<Consumer<UserTask>> listeners = new CopyOnWriteArraySet<>();
+  private final ScheduledExecutorService renewalExecutor;
 
   @Autowired
-  public MigrationTaskService(Camunda8Service camunda8Service) {
+  public MigrationTaskService(
+      Camunda8Service camunda8Service,
+      ProcessInstanceIdStore processInstanceIdStore,
+      @Value("${migration.tasks.timeout:PT30S}") Duration taskTimeout) {
     this.camunda8Service = camunda8Service;
+    this.processInstanceIdStore = processInstanceIdStore;
+    this.taskTimeout = taskTimeout;
+    for (TaskState state : TaskState.values()) {
+      tasksByState.put(state, ConcurrentHashMap.newKeySet());
+    }
+    this.renewalExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "migration-task-renewal");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long period = Math.max(1, taskTimeout.toMillis() / 4);
+    renewalExecutor.scheduleWithFixedDelay(this::renew, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    renewalExecutor.shutdownNow();
+  }
+
+  public void addListener(Consumer<UserTask> listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Consumer<UserTask> listener) {
+    listeners.remove(listener);
   }
 
   public List<UserTask> getTasks(boolean includeCompleted) {
-    Set<Long> removed = new HashSet<>();
-    timeouts.forEach(
-        (key, timeout) -> {
-          if (timeout.isBefore(LocalDateTime.now())) {
-            LOG.info("Task with key '{}' timed out", key);
-            taskList.remove(key);
-            removed.add(key);
-          }
-        });
-    removed.forEach(timeouts::remove);
-    return taskList.values().stream()
-        .filter(task -> includeCompleted || task.getState().equals(TaskState.CREATED))
-        .collect(Collectors.toList());
+    expire();
+    if (includeCompleted) {
+      return List.copyOf(tasks.values());
+    }
+    return getTasks(tasksByState.get(TaskState.CREATED));
+  }
+
+  public List<UserTask> getTasksByProcessInstanceKey(long processInstanceKey) {
+    expire();
+    return getTasks(tasksByProcessInstance.getOrDefault(processInstanceKey, Set.of()));
   }
 
   public UserTask getTask(long jobKey) {
-    return taskList.get(jobKey);
+    expire();
+    return tasks.get(jobKey);
   }
 
   public void addTask(UserTask task) {
-    timeouts.put(task.getKey(), LocalDateTime.now().plusMinutes(1));
-    if (task.getState().equals(TaskState.CREATED)) {
-      UserTask fromList = taskList.get(task.getKey());
-      if (fromList != null && fromList.getState().equals(TaskState.COMPLETED)) {
-        return;
-      }
+    expire();
+    long deadline = System.nanoTime() + taskTimeout.toNanos();
+    deadlines.put(task.getKey(), deadline);
+    expiries.add(new TaskExpiry(task.getKey(), deadline));
+    boolean[] changed = new boolean[1];
+    tasks.compute(
+        task.getKey(),
+        (key, fromList) -> {
+          if (fromList != null
+              && task.getState().equals(TaskState.CREATED)
+              && !fromList.getState().equals(TaskState.CREATED)) {
+            return fromList;
+          }
+          if (fromList == null || !fromList.getState().equals(task.getState())) {
+            LOG.info("Added task with key '{}'", key);
+            changed[0] = true;
+          }
+          index(fromList, task);
+          return task;
+        });
+    if (changed[0]) {
+      publish(task);
     }
-    LOG.info("Added task with key '{}'", task.getKey());
-    taskList.put(task.getKey(), task);
   }
 
+  /**
+   * Completes the task. Only the caller that moves the task to {@link TaskState#COMPLETING} sends
+   * the completion to Zeebe, concurrent callers get the task in its current state.
+   */
   public UserTask complete(long jobKey, ProcessInstanceMigrationVariables result) {
-    UserTask fromList = taskList.get(jobKey);
-    if (fromList != null) {
+    boolean[] claimed = new boolean[1];
+    UserTask current =
+        tasks.computeIfPresent(
+            jobKey,
+            (key, task) -> {
+              if (!task.getState().equals(TaskState.CREATED)) {
+                return task;
+              }
+              UserTask completingTask = task.state(TaskState.COMPLETING);
+              index(task, completingTask);
+              claimed[0] = true;
+              return completingTask;
+            });
+    if (current == null) {
+      throw new IllegalStateException("Task with key '" + jobKey + "' does not exist");
+    }
+    if (!claimed[0]) {
+      return current;
+    }
+    try {
+      if (result.getCamunda7ProcessInstanceIds() != null) {
+        // the selection can be too large for a process variable, only the batch is passed on
+        ProcessInstanceIdBatch batch =
+            processInstanceIdStore.store(result.getCamunda7ProcessInstanceIds().stream());
+        result.setCamunda7ProcessInstanceIds(null);
+        result.setProcessInstanceBatchId(batch.batchId());
+        result.setProcessInstanceChunks(batch.chunks());
+      }
       camunda8Service.completeTask(jobKey, result);
-      fromList = fromList.state(TaskState.COMPLETED);
-      taskList.put(jobKey, fromList);
-      return fromList;
+    } catch (RuntimeException e) {
+      // the task can be completed again
+      transition(jobKey, TaskState.COMPLETING, TaskState.CREATED);
+      throw e;
+    }
+    UserTask completed = transition(jobKey, TaskState.COMPLETING, TaskState.COMPLETED);
+    if (completed == null) {
+      return current.state(TaskState.COMPLETED);
+    }
+    publish(completed);
+    return completed;
+  }
+
+  private UserTask transition(long jobKey, TaskState from, TaskState to) {
+    return tasks.computeIfPresent(
+        jobKey,
+        (key, task) -> {
+          if (!task.getState().equals(from)) {
+            return task;
+          }
+          UserTask transitioned = task.state(to);
+          index(task, transitioned);
+          return transitioned;
+        });
+  }
+
+  /** Renews the job timeout of all open tasks that have less than half of their timeout left. */
+  void renew() {
+    try {
+      expire();
+      long threshold = System.nanoTime() + taskTimeout.toNanos() / 2;
+      for (Long key : tasksByState.get(TaskState.CREATED)) {
+        Long deadline = deadlines.get(key);
+        if (deadline != null && deadline - threshold < 0) {
+          camunda8Service
+              .renewTask(key, taskTimeout)
+              .whenComplete((result, error) -> renewed(key, error));
+        }
+      }
+    } catch (RuntimeException e) {
+      LOG.warn("Could not renew tasks", e);
+    }
+  }
+
+  private void renewed(long key, Throwable error) {
+    if (error == null) {
+      long deadline = System.nanoTime() + taskTimeout.toNanos();
+      if (deadlines.computeIfPresent(key, (k, previous) -> deadline) != null) {
+        expiries.add(new TaskExpiry(key, deadline));
+      }
+    } else if (Status.fromThrowable(error).getCode() == Code.NOT_FOUND) {
+      // the job has been completed or cancelled elsewhere
+      deadlines.remove(key);
+      remove(key);
+    } else {
+      LOG.warn("Could not renew task with key '{}'", key, error);
+    }
+  }
+
+  private List<UserTask> getTasks(Set<Long> keys) {
+    return keys.stream().map(tasks::get).filter(Objects::nonNull).toList();
+  }
+
+  private void index(UserTask previous, UserTask current) {
+    if (previous != null) {
+      tasksByState.get(previous.getState()).remove(previous.getKey());
+    }
+    tasksByState.get(current.getState()).add(current.getKey());
+    if (current.getProcessInstanceKey() != null) {
+      tasksByProcessInstance.compute(
+          current.getProcessInstanceKey(),
+          (key, keys) -> {
+            Set<Long> result = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            result.add(current.getKey());
+            return result;
+          });
+    }
+  }
+
+  private void unindex(UserTask task) {
+    tasksByState.get(task.getState()).remove(task.getKey());
+    if (task.getProcessInstanceKey() != null) {
+      tasksByProcessInstance.computeIfPresent(
+          task.getProcessInstanceKey(),
+          (key, keys) -> {
+            keys.remove(task.getKey());
+            return keys.isEmpty() ? null : keys;
+          });
+    }
+  }
+
+  private void expire() {
+    TaskExpiry expiry;
+    while ((expiry = expiries.poll()) != null) {
+      long key = expiry.key();
+      // only remove the deadline if it has not been refreshed in the meantime
+      if (deadlines.remove(key, expiry.deadline())) {
+        LOG.info("Task with key '{}' timed out", key);
+        remove(key);
+      }
+    }
+  }
+
+  private void remove(long key) {
+    UserTask[] removed = new UserTask[1];
+    tasks.computeIfPresent(
+        key,
+        (k, task) -> {
+          unindex(task);
+          removed[0] = task;
+          return null;
+        });
+    if (removed[0] != null && removed[0].getState().equals(TaskState.CREATED)) {
+      publish(removed[0].state(TaskState.CANCELED));
+    }
+  }
+
+  private void publish(UserTask task) {
+    for (Consumer<UserTask> listener : listeners) {
+      try {
+        listener.accept(task);
+      } catch (RuntimeException e) {
+        LOG.warn("Could not notify listener about task with key '{}'", task.getKey(), e);
+      }
+    }
+  }
+
+  private record TaskExpiry(long key, long deadline) implements Delayed {
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
     }
-    throw new IllegalStateException("Task with key '" + jobKey + "' does not exist");
   }
 }
@@ -1,23 +1,47 @@
 package org.camunda.community.migration.processInstance.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.camunda.community.migration.processInstance.dto.Camunda8ProcessDefinitionData;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ProcessDefinitionMigrationHintService {
   private final Set<ProcessDefinitionMigrationHintRule> rules;
+  private final Map<Long, List<String>> hints;
 
   @Autowired
-  public ProcessDefinitionMigrationHintService(Set<ProcessDefinitionMigrationHintRule> rules) {
+  public ProcessDefinitionMigrationHintService(
+      Set<ProcessDefinitionMigrationHintRule> rules,
+      @Value("${migration.process-definition-cache-size:100}") int cacheSize) {
     this.rules = rules;
+    this.hints = Collections.synchronizedMap(new LruCache<>(cacheSize));
   }
 
+  /**
+   * Evaluates all rules against the process definition. The hints are memoised per process
+   * definition key, as a deployed process definition does not change.
+   */
   public List<String> getMigrationHints(Camunda8ProcessDefinitionData data) {
+    Long key = data.getProcessDefinition() == null ? null : data.getProcessDefinition().getKey();
+    if (key == null) {
+      return evaluate(data);
+    }
+    List<String> result = hints.get(key);
+    if (result == null) {
+      result = List.copyOf(evaluate(data));
+      hints.put(key, result);
+    }
+    return result;
+  }
+
+  private List<String> evaluate(Camunda8ProcessDefinitionData data) {
     return rules.stream()
         .map(rule -> rule.createHint(data))
         .filter(Optional::isPresent)
@@ -0,0 +1,200 @@
+package org.camunda.community.migration.processInstance.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps lists of selected process instance ids on the file system, so that only a batch id and the
+ * chunk indexes have to be passed through Zeebe. Each chunk of a batch is a file with one id per
+ * line, it is deleted once the chunk has been migrated. Batches that have not been accessed for
+ * longer than the retention are deleted when a new batch is stored.
+ *
+ * <p>The store is local to the node: a batch can only be read on the node that stored it, so the
+ * application does not work with more than one replica unless the directory is shared.
+ */
+@Service
+public class ProcessInstanceIdStore {
+  private static final Logger LOG = LoggerFactory.getLogger(ProcessInstanceIdStore.class);
+  private final Path directory;
+  private final int chunkSize;
+  private final Duration retention;
+
+  public ProcessInstanceIdStore(
+      @Value("${migration.id-store.directory:${java.io.tmpdir}/process-instance-migration}")
+          Path directory,
+      @Value("${migration.id-store.chunk-size:500}") int chunkSize,
+      @Value("${migration.id-store.retention:P7D}") Duration retention) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive, was " + chunkSize);
+    }
+    this.directory = directory;
+    this.chunkSize = chunkSize;
+    this.retention = retention;
+  }
+
+  /**
+   * Stores the ids as a new batch. The ids are written chunk by chunk while the stream is consumed.
+   *
+   * @param processInstanceIds the ids to store
+   * @return the batch the ids can be read from
+   */
+  public ProcessInstanceIdBatch store(Stream<String> processInstanceIds) {
+    deleteExpired();
+    String batchId = UUID.randomUUID().toString();
+    Path batchDirectory = directory.resolve(batchId);
+    int chunk = 0;
+    try {
+      Files.createDirectories(batchDirectory);
+      Iterator<String> iterator = processInstanceIds.iterator();
+      while (iterator.hasNext()) {
+        try (BufferedWriter writer =
+            Files.newBufferedWriter(batchDirectory.resolve(String.valueOf(chunk)))) {
+          for (int i = 0; i < chunkSize && iterator.hasNext(); i++) {
+            writer.write(iterator.next());
+            writer.newLine();
+          }
+        }
+        chunk++;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not store process instance batch " + batchId, e);
+    }
+    if (chunk == 0) {
+      // there is no chunk to migrate, so nothing would release the batch
+      delete(batchId);
+    }
+    LOG.info("Stored process instance batch '{}' with {} chunks", batchId, chunk);
+    return new ProcessInstanceIdBatch(batchId, chunk);
+  }
+
+  public List<String> getChunk(String batchId, int chunk) {
+    try {
+      List<String> ids = Files.readAllLines(chunkFile(batchId, chunk), StandardCharsets.UTF_8);
+      touch(batchDirectory(batchId));
+      return ids;
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Could not read chunk " + chunk + " of process instance batch " + batchId, e);
+    }
+  }
+
+  /**
+   * Deletes a chunk after it has been migrated. The batch is deleted together with its last chunk.
+   *
+   * @param batchId the batch the chunk belongs to
+   * @param chunk the migrated chunk
+   */
+  public void releaseChunk(String batchId, int chunk) {
+    Path batchDirectory = batchDirectory(batchId);
+    try {
+      Files.deleteIfExists(chunkFile(batchId, chunk));
+      if (!Files.isDirectory(batchDirectory)) {
+        return;
+      }
+      boolean empty;
+      try (Stream<Path> chunks = Files.list(batchDirectory)) {
+        empty = chunks.findAny().isEmpty();
+      }
+      if (empty) {
+        delete(batchId);
+        LOG.info("Deleted process instance batch '{}'", batchId);
+      } else {
+        touch(batchDirectory);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Could not release chunk " + chunk + " of process instance batch " + batchId, e);
+    }
+  }
+
+  public void delete(String batchId) {
+    deleteRecursively(batchDirectory(batchId));
+  }
+
+  private void deleteExpired() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    FileTime expiry = FileTime.from(Instant.now().minus(retention));
+    try (Stream<Path> batches = Files.list(directory)) {
+      batches
+          .filter(batch -> lastModified(batch).compareTo(expiry) < 0)
+          .forEach(
+              batch -> {
+                LOG.info("Deleting expired process instance batch '{}'", batch.getFileName());
+                deleteRecursively(batch);
+              });
+    } catch (IOException e) {
+      LOG.warn("Could not delete expired process instance batches", e);
+    }
+  }
+
+  // the last modification time of a batch directory is its last access, batches in use do not
+  // expire
+  private static void touch(Path batchDirectory) throws IOException {
+    Files.setLastModifiedTime(batchDirectory, FileTime.from(Instant.now()));
+  }
+
+  private static FileTime lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteRecursively(Path path) {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(path)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(ProcessInstanceIdStore::deleteFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteFile(Path path) {
+    try {
+      Files.delete(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path batchDirectory(String batchId) {
+    // the batch id comes from process variables, it must not escape the store directory
+    Path batchDirectory = directory.resolve(batchId).normalize();
+    if (!batchDirectory.getParent().equals(directory.normalize())) {
+      throw new IllegalArgumentException("Invalid process instance batch id '" + batchId + "'");
+    }
+    return batchDirectory;
+  }
+
+  private Path chunkFile(String batchId, int chunk) {
+    return batchDirectory(batchId).resolve(String.valueOf(chunk));
+  }
+
+  public record ProcessInstanceIdBatch(String batchId, int chunkCount) {
+    public List<Integer> chunks() {
+      return IntStream.range(0, chunkCount).boxed().toList();
+    }
+  }
+}
@@ -44,10 +44,9 @@ public class TaskMappingService {
                 variables.getBpmnProcessId(),
                 variables.getCamunda7ProcessDefinitionId(),
                 service
-                    .getProcessInstancesByProcessDefinitionId(
-                        variables.getCamunda7ProcessDefinitionId())
-                    .stream()
-                    .map(dto -> service.getProcessData(dto.getId()))
+                    .getProcessData(
+                        service.getProcessInstancesByProcessDefinitionId(
+                            variables.getCamunda7ProcessDefinitionId()))
                     .collect(Collectors.toList())));
     TO_USER_TASK_MAPPING.put(
         CREATE_AND_DEPLOY_CONVERSION,
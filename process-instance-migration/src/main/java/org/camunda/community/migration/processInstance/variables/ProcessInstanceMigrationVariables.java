@@ -11,6 +11,9 @@ public class ProcessInstanceMigrationVariables {
   private String camunda7ProcessDefinitionId;
   private String camunda7ProcessInstanceId;
   private List<String> camunda7ProcessInstanceIds;
+  private String processInstanceBatchId;
+  private List<Integer> processInstanceChunks;
+  private Integer processInstanceChunk;
   private Long camunda8ProcessInstanceKey;
   private List<String> activityIds;
   private Map<String, Object> variables;
@@ -27,6 +30,30 @@ public class ProcessInstanceMigrationVariables {
     this.camunda7ProcessInstanceIds = camunda7ProcessInstanceIds;
   }
 
+  public String getProcessInstanceBatchId() {
+    return processInstanceBatchId;
+  }
+
+  public void setProcessInstanceBatchId(String processInstanceBatchId) {
+    this.processInstanceBatchId = processInstanceBatchId;
+  }
+
+  public List<Integer> getProcessInstanceChunks() {
+    return processInstanceChunks;
+  }
+
+  public void setProcessInstanceChunks(List<Integer> processInstanceChunks) {
+    this.processInstanceChunks = processInstanceChunks;
+  }
+
+  public Integer getProcessInstanceChunk() {
+    return processInstanceChunk;
+  }
+
+  public void setProcessInstanceChunk(Integer processInstanceChunk) {
+    this.processInstanceChunk = processInstanceChunk;
+  }
+
   public Map<String, String> getSelectedJobDefinitions() {
     return selectedJobDefinitions;
   }
@@ -5,6 +5,7 @@ import static org.camunda.bpm.engine.test.assertions.bpmn.AbstractAssertions.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -131,12 +132,14 @@ public class Camunda7EmbeddedClient implements Camunda7Client {
 
   @Override
   public List<ProcessInstanceDto> getProcessInstancesByProcessDefinition(
-      String processDefinitionId) {
+      String processDefinitionId, int firstResult, int maxResults) {
     return processEngine()
         .getRuntimeService()
         .createProcessInstanceQuery()
         .processDefinitionId(processDefinitionId)
-        .list()
+        .orderByProcessInstanceId()
+        .asc()
+        .listPage(firstResult, maxResults)
         .stream()
         .map(this::mapFrom)
         .collect(Collectors.toList());
@@ -144,13 +147,15 @@ public class Camunda7EmbeddedClient implements Camunda7Client {
 
   @Override
   public List<ProcessInstanceDto> getProcessInstancesByProcessDefinitionAndActivityIds(
-      String processDefinitionId, Collection<String> activityIds) {
+      String processDefinitionId, Collection<String> activityIds, int firstResult, int maxResults) {
     return processEngine()
         .getRuntimeService()
         .createProcessInstanceQuery()
         .processDefinitionId(processDefinitionId)
         .activityIdIn(activityIds.toArray(new String[0]))
-        .list()
+        .orderByProcessInstanceId()
+        .asc()
+        .listPage(firstResult, maxResults)
         .stream()
         .map(this::mapFrom)
         .collect(Collectors.toList());
@@ -193,10 +198,35 @@ public class Camunda7EmbeddedClient implements Camunda7Client {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public List<VariableInstanceDto> getVariableInstances(Collection<String> processInstanceIds) {
+    return processEngine()
+        .getRuntimeService()
+        .createVariableInstanceQuery()
+        .processInstanceIdIn(processInstanceIds.toArray(new String[0]))
+        .list()
+        .stream()
+        .map(this::mapFrom)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<JobDto> getJobs(Collection<String> camunda7ProcessInstanceIds) {
+    return processEngine()
+        .getManagementService()
+        .createJobQuery()
+        .processInstanceIds(new HashSet<>(camunda7ProcessInstanceIds))
+        .list()
+        .stream()
+        .map(this::mapFrom)
+        .collect(Collectors.toList());
+  }
+
   private JobDto mapFrom(Job job) {
     JobDto dto = new JobDto();
     dto.setId(job.getId());
     dto.setJobDefinitionId(job.getJobDefinitionId());
+    dto.setProcessInstanceId(job.getProcessInstanceId());
     return dto;
   }
 
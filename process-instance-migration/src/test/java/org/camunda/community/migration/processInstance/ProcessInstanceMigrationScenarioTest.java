@@ -7,6 +7,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.camunda.operate.CamundaOperateClient;
 import io.camunda.process.test.api.CamundaProcessTest;
 import io.camunda.zeebe.client.ZeebeClient;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -15,10 +19,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Stream;
 import org.camunda.bpm.engine.test.junit5.ProcessEngineExtension;
+import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
 import org.camunda.community.migration.processInstance.service.Camunda7Service;
 import org.camunda.community.migration.processInstance.service.Camunda8Service;
 import org.camunda.community.migration.processInstance.service.MigrationTaskService;
 import org.camunda.community.migration.processInstance.service.ProcessDefinitionMigrationHintService;
+import org.camunda.community.migration.processInstance.service.ProcessInstanceIdStore;
 import org.camunda.community.migration.processInstance.service.TaskMappingService;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DynamicContainer;
@@ -79,11 +85,17 @@ public class ProcessInstanceMigrationScenarioTest {
       MigrationTestProcessInstanceInput piInput) {
     CamundaOperateClient operateClient = operateClient();
     Camunda8Service camunda8Service = camunda8Service(zeebeClient, operateClient);
-    MigrationTaskService taskService = taskService(camunda8Service);
+    ProcessInstanceIdStore processInstanceIdStore = processInstanceIdStore();
+    MigrationTaskService taskService = taskService(camunda8Service, processInstanceIdStore);
     Camunda7Service camunda7Service = camunda7Service();
     TaskMappingService taskMappingService = taskMappingService(camunda7Service);
     ZeebeJobClient zeebeJobClient =
-        zeebeJobClient(camunda7Service, taskService, camunda8Service, taskMappingService);
+        zeebeJobClient(
+            camunda7Service,
+            taskService,
+            camunda8Service,
+            taskMappingService,
+            processInstanceIdStore);
     return new ScenarioTestSuite(
         //        pdInput,
         //        piInput,
@@ -101,33 +113,47 @@ public class ProcessInstanceMigrationScenarioTest {
 
   private static Camunda7Service camunda7Service() {
     return new Camunda7Service(
-        new Camunda7EmbeddedClient(new ObjectMapper()), Collections.emptySet());
+        new Camunda7EmbeddedClient(new ObjectMapper()),
+        Collections.emptySet(),
+        new Camunda7ClientProperties());
   }
 
   private static ZeebeJobClient zeebeJobClient(
       Camunda7Service camunda7Service,
       MigrationTaskService taskService,
       Camunda8Service camunda8Service,
-      TaskMappingService taskMappingService) {
+      TaskMappingService taskMappingService,
+      ProcessInstanceIdStore processInstanceIdStore) {
     return new ZeebeJobClient(
         camunda7Service,
         taskService,
         camunda8Service,
         mock(ProcessDefinitionMigrationHintService.class),
-        taskMappingService);
+        taskMappingService,
+        processInstanceIdStore);
+  }
+
+  private static ProcessInstanceIdStore processInstanceIdStore() {
+    try {
+      return new ProcessInstanceIdStore(
+          Files.createTempDirectory("process-instance-migration"), 500, Duration.ofDays(1));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   private static Camunda8Service camunda8Service(
       ZeebeClient zeebeClient, CamundaOperateClient operateClient) {
-    return new Camunda8Service(zeebeClient, operateClient);
+    return new Camunda8Service(zeebeClient, operateClient, 100);
   }
 
   private static CamundaOperateClient operateClient() {
     return mock(CamundaOperateClient.class);
   }
 
-  private static MigrationTaskService taskService(Camunda8Service camunda8Service) {
-    return new MigrationTaskService(camunda8Service);
+  private static MigrationTaskService taskService(
+      Camunda8Service camunda8Service, ProcessInstanceIdStore processInstanceIdStore) {
+    return new MigrationTaskService(camunda8Service, processInstanceIdStore, Duration.ofMinutes(1));
   }
 
   @TestFactory
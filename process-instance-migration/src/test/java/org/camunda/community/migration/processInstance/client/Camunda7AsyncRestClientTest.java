@@ -0,0 +1,153 @@
+package org.camunda.community.migration.processInstance.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto;
+import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientResponseException;
+
+public class Camunda7AsyncRestClientTest {
+  private final Map<String, String> requests = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private HttpServer server;
+  private Camunda7ClientProperties properties;
+  private Camunda7AsyncRestClient client;
+
+  @BeforeEach
+  void setup() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext(
+        "/engine-rest/process-instance/",
+        exchange -> {
+          int current = inFlight.incrementAndGet();
+          maxInFlight.accumulateAndGet(current, Math::max);
+          try {
+            Thread.sleep(50);
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            if (id.equals("missing")) {
+              respond(exchange, 404, "{\"message\":\"not found\"}");
+            } else {
+              respond(exchange, 200, "{\"id\":\"" + id + "\",\"definitionId\":\"def\"}");
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            inFlight.decrementAndGet();
+          }
+        });
+    server.createContext(
+        "/engine-rest/variable-instance",
+        exchange -> {
+          requests.put(
+              exchange.getRequestMethod() + " " + exchange.getRequestURI(),
+              new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+          respond(exchange, 200, "[]");
+        });
+    server.start();
+    properties = new Camunda7ClientProperties();
+    properties.setMaxConcurrentRequests(4);
+    properties.setHttp2(false);
+    properties.getAuthentication().getBasicAuth().setUsername("demo");
+    properties.getAuthentication().getBasicAuth().setPassword("demo");
+    client =
+        new Camunda7AsyncRestClient(
+            "http://localhost:" + server.getAddress().getPort() + "/engine-rest",
+            properties,
+            new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.shutdown();
+    server.stop(0);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+    exchange.close();
+  }
+
+  @Test
+  void shouldOverlapRequestsUpToTheLimit() {
+    List<CompletableFuture<ProcessInstanceDto>> futures =
+        IntStream.range(0, 16).mapToObj(i -> client.getProcessInstanceAsync("pi-" + i)).toList();
+    List<String> ids =
+        futures.stream().map(CompletableFuture::join).map(ProcessInstanceDto::getId).toList();
+    assertThat(ids)
+        .containsExactlyElementsOf(IntStream.range(0, 16).mapToObj(i -> "pi-" + i).toList());
+    assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(4);
+  }
+
+  @Test
+  void shouldNotBlockCallerAtTheLimit() {
+    long start = System.nanoTime();
+    List<CompletableFuture<ProcessInstanceDto>> futures =
+        IntStream.range(0, 16).mapToObj(i -> client.getProcessInstanceAsync("pi-" + i)).toList();
+    // the server takes 50 ms per request, blocking at the limit would take at least 150 ms
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+    assertThat(futures.stream().map(CompletableFuture::join)).hasSize(16);
+    assertThat(maxInFlight.get()).isLessThanOrEqualTo(4);
+  }
+
+  @Test
+  void shouldThrowResponseExceptionOnError() {
+    assertThatThrownBy(() -> client.getProcessInstance("missing"))
+        .isInstanceOfSatisfying(
+            RestClientResponseException.class,
+            e -> assertThat(e.getStatusCode().value()).isEqualTo(404));
+  }
+
+  @Test
+  void shouldPostProcessInstanceIds() {
+    assertThat(client.getVariableInstances(List.of("a", "b"))).isEmpty();
+    assertThat(requests)
+        .containsEntry(
+            "POST /engine-rest/variable-instance", "{\"processInstanceIdIn\":[\"a\",\"b\"]}");
+  }
+
+  @Test
+  void shouldRejectCustomAuthentication() {
+    properties.getAuthentication().setCustom("interceptor");
+    assertThatThrownBy(
+            () -> new Camunda7AsyncRestClient("http://localhost", properties, new ObjectMapper()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldReleasePermitsOnFailure() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(8);
+    IntStream.range(0, 8)
+        .forEach(
+            i ->
+                client
+                    .getProcessInstanceAsync("missing")
+                    .whenComplete((r, e) -> latch.countDown()));
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(client.getProcessInstance("pi").getId()).isEqualTo("pi");
+  }
+}
@@ -0,0 +1,146 @@
+package org.camunda.community.migration.processInstance.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class PagedIteratorTest {
+  private final List<Integer> requestedPages = new ArrayList<>();
+
+  private List<Integer> fetch(int total, int firstResult, int maxResults) {
+    synchronized (requestedPages) {
+      requestedPages.add(firstResult);
+    }
+    return IntStream.range(firstResult, Math.min(total, firstResult + maxResults)).boxed().toList();
+  }
+
+  @Test
+  void shouldStreamAllPages() {
+    List<Integer> result =
+        PagedIterator.stream((first, max) -> fetch(25, first, max), 10, null).toList();
+    assertThat(result).containsExactlyElementsOf(IntStream.range(0, 25).boxed().toList());
+    assertThat(requestedPages).containsExactly(0, 10, 20);
+  }
+
+  @Test
+  void shouldStopAfterEmptyPage() {
+    List<Integer> result =
+        PagedIterator.stream((first, max) -> fetch(20, first, max), 10, null).toList();
+    assertThat(result).hasSize(20);
+    assertThat(requestedPages).containsExactly(0, 10, 20);
+  }
+
+  @Test
+  void shouldFetchLazily() {
+    List<Integer> result =
+        PagedIterator.stream((first, max) -> fetch(100, first, max), 10, null).limit(5).toList();
+    assertThat(result).containsExactly(0, 1, 2, 3, 4);
+    assertThat(requestedPages).containsExactly(0);
+  }
+
+  @Test
+  void shouldPrefetchNextPage() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      List<Integer> result =
+          PagedIterator.stream((first, max) -> fetch(25, first, max), 10, executor).toList();
+      assertThat(result).containsExactlyElementsOf(IntStream.range(0, 25).boxed().toList());
+      assertThat(requestedPages).containsExactly(0, 10, 20);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldPropagateFetchError() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      PagedIterator.PageFetcher<Integer> fetcher =
+          (first, max) -> {
+            if (first > 0) {
+              throw new IllegalStateException("page " + first);
+            }
+            return fetch(100, first, max);
+          };
+      assertThatThrownBy(() -> PagedIterator.stream(fetcher, 10, executor).toList())
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("page 10");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldNotSkipElementsWhenSeenElementsAreRemoved() {
+    List<Integer> live = new ArrayList<>(IntStream.range(0, 25).boxed().toList());
+    PagedIterator.PageFetcher<Integer> fetcher =
+        (first, max) -> {
+          requestedPages.add(first);
+          return List.copyOf(
+              live.subList(Math.min(first, live.size()), Math.min(first + max, live.size())));
+        };
+    List<Integer> result = new ArrayList<>();
+    PagedIterator.stream(fetcher, 10, null, Function.identity())
+        .forEach(
+            element -> {
+              result.add(element);
+              // every other element is removed from the result, like a cancelled process instance
+              if (element % 2 == 0) {
+                live.remove(element);
+              }
+            });
+    assertThat(result).containsExactlyElementsOf(IntStream.range(0, 25).boxed().toList());
+  }
+
+  @Test
+  void shouldNotRepeatElementsWhenElementsAreAdded() {
+    List<Integer> live = new ArrayList<>(IntStream.range(0, 25).map(i -> i * 2).boxed().toList());
+    PagedIterator.PageFetcher<Integer> fetcher =
+        (first, max) ->
+            List.copyOf(
+                live.subList(Math.min(first, live.size()), Math.min(first + max, live.size())));
+    List<Integer> result = new ArrayList<>();
+    PagedIterator.stream(fetcher, 10, null, Function.identity())
+        .forEach(
+            element -> {
+              result.add(element);
+              if (element == 4) {
+                // an element before the current offset is added
+                live.add(0, -1);
+              }
+            });
+    assertThat(result).containsExactlyElementsOf(live.subList(1, live.size()));
+  }
+
+  @Test
+  void shouldNotSkipElementsWhenTheOrderDiffersFromTheJavaOrder() {
+    // the engine sorts by the collation of the database, here case insensitive
+    List<String> live =
+        new ArrayList<>(
+            IntStream.range(0, 25)
+                .mapToObj(i -> (i % 2 == 0 ? "a" : "A") + (char) ('a' + i))
+                .toList());
+    assertThat(live).doesNotContainSequence(live.stream().sorted().toList());
+    List<String> all = List.copyOf(live);
+    PagedIterator.PageFetcher<String> fetcher =
+        (first, max) ->
+            List.copyOf(
+                live.subList(Math.min(first, live.size()), Math.min(first + max, live.size())));
+    List<String> result = new ArrayList<>();
+    PagedIterator.stream(fetcher, 10, null, Function.identity())
+        .forEach(
+            element -> {
+              result.add(element);
+              if (element.startsWith("a")) {
+                live.remove(element);
+              }
+            });
+    assertThat(result).containsExactlyElementsOf(all);
+  }
+}
@@ -0,0 +1,258 @@
+package org.camunda.community.migration.processInstance.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.camunda.zeebe.client.api.response.ProcessInstanceEvent;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationOutcome;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationOutcome.BulkMigrationState;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationResult;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationRun;
+import org.camunda.community.migration.processInstance.dto.BulkMigrationRun.BulkMigrationRunState;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessDefinitionData;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstanceData;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstanceData.ActivityData;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstanceData.ProcessVariableData;
+import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto;
+import org.camunda.community.migration.processInstance.properties.BulkMigrationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+
+public class BulkMigrationServiceTest {
+  private final Camunda7Service camunda7Service = mock(Camunda7Service.class);
+  private final Camunda8Service camunda8Service = mock(Camunda8Service.class);
+  private final ScheduledExecutorService gateway = Executors.newScheduledThreadPool(4);
+  private final Set<String> exhaustedOnce = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private BulkMigrationProperties properties;
+  private BulkMigrationService service;
+
+  @BeforeEach
+  void setup() {
+    properties = new BulkMigrationProperties();
+    properties.setInitialInFlight(2);
+    properties.setMaxInFlight(8);
+    properties.setRetryBackoff(Duration.ofMillis(1));
+    service = new BulkMigrationService(camunda7Service, camunda8Service, properties);
+    when(camunda8Service.startMigratedProcessInstanceAsync(anyString(), anyList(), anyMap()))
+        .thenAnswer(
+            invocation -> {
+              Map<String, Object> variables = invocation.getArgument(2);
+              return start((String) variables.get("camunda7ProcessInstanceId"));
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+    gateway.shutdownNow();
+  }
+
+  private CompletableFuture<ProcessInstanceEvent> start(String camunda7ProcessInstanceId) {
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    CompletableFuture<ProcessInstanceEvent> future = new CompletableFuture<>();
+    gateway.schedule(
+        () -> {
+          inFlight.decrementAndGet();
+          if (camunda7ProcessInstanceId.endsWith("3")
+              && exhaustedOnce.add(camunda7ProcessInstanceId)) {
+            future.completeExceptionally(Status.RESOURCE_EXHAUSTED.asRuntimeException());
+          } else if (camunda7ProcessInstanceId.equals("invalid")) {
+            future.completeExceptionally(Status.INVALID_ARGUMENT.asRuntimeException());
+          } else {
+            ProcessInstanceEvent event = mock(ProcessInstanceEvent.class);
+            when(event.getProcessInstanceKey())
+                .thenReturn(Long.parseLong(camunda7ProcessInstanceId.replaceAll("\\D", "")));
+            future.complete(event);
+          }
+        },
+        5,
+        TimeUnit.MILLISECONDS);
+    return future;
+  }
+
+  @Test
+  void shouldMigrateAllProcessInstances() {
+    BulkMigrationResult result =
+        service.migrate(
+            "process", IntStream.range(0, 50).mapToObj(i -> processInstance("pi-" + i)));
+    assertThat(result.getOutcomes())
+        .hasSize(50)
+        .allSatisfy(
+            outcome -> assertThat(outcome.getState()).isEqualTo(BulkMigrationState.MIGRATED));
+    assertThat(result.getCounts()).containsExactly(entry(BulkMigrationState.MIGRATED, 50L));
+    assertThat(exhaustedOnce).contains("pi-3", "pi-13", "pi-43");
+    assertThat(maxInFlight.get()).isGreaterThan(2).isLessThanOrEqualTo(8);
+    verify(camunda7Service).cancelProcessInstance("pi-7", 7L);
+    verify(camunda8Service, times(55))
+        .startMigratedProcessInstanceAsync(eq("process"), eq(List.of("task")), anyMap());
+  }
+
+  @Test
+  void shouldRecordFailures() {
+    doThrow(new IllegalStateException("not cancellable"))
+        .when(camunda7Service)
+        .cancelProcessInstance("pi-1", 1L);
+    BulkMigrationResult result =
+        service.migrate(
+            "process",
+            List.of(processInstance("pi-0"), processInstance("invalid"), processInstance("pi-1"))
+                .stream());
+    assertThat(result.getOutcomes())
+        .extracting(
+            BulkMigrationOutcome::getCamunda7ProcessInstanceId, BulkMigrationOutcome::getState)
+        .containsExactlyInAnyOrder(
+            tuple("pi-0", BulkMigrationState.MIGRATED),
+            tuple("invalid", BulkMigrationState.START_FAILED),
+            tuple("pi-1", BulkMigrationState.CANCEL_FAILED));
+    verify(camunda8Service).cancelProcessInstance(1L);
+  }
+
+  @Test
+  void shouldRollBackIfCancellationCannotBeStarted() {
+    service.shutdown();
+    BulkMigrationResult result = service.migrate("process", Stream.of(processInstance("pi-1")));
+    assertThat(result.getOutcomes())
+        .extracting(
+            BulkMigrationOutcome::getCamunda8ProcessInstanceKey, BulkMigrationOutcome::getState)
+        .containsExactly(tuple(1L, BulkMigrationState.CANCEL_FAILED));
+    verify(camunda8Service).cancelProcessInstance(1L);
+    verify(camunda7Service, never()).cancelProcessInstance(anyString(), anyLong());
+  }
+
+  @Test
+  void shouldRollBackOnErrorWhileCancelling() {
+    doThrow(new AssertionError("not cancellable"))
+        .when(camunda7Service)
+        .cancelProcessInstance("pi-1", 1L);
+    doThrow(new IllegalStateException("not cancellable either"))
+        .when(camunda8Service)
+        .cancelProcessInstance(1L);
+    BulkMigrationResult result = service.migrate("process", Stream.of(processInstance("pi-1")));
+    assertThat(result.getOutcomes())
+        .extracting(
+            BulkMigrationOutcome::getCamunda8ProcessInstanceKey, BulkMigrationOutcome::getState)
+        .containsExactly(tuple(1L, BulkMigrationState.ROLLBACK_FAILED));
+  }
+
+  @Test
+  void shouldRunInBackground() throws InterruptedException {
+    ProcessDefinitionDto processDefinition = new ProcessDefinitionDto();
+    processDefinition.setId("process:1");
+    Camunda7ProcessDefinitionData processDefinitionData = new Camunda7ProcessDefinitionData();
+    processDefinitionData.setProcessDefinition(processDefinition);
+    when(camunda7Service.getLatestProcessDefinition("process")).thenReturn(processDefinitionData);
+    when(camunda7Service.getProcessInstancesByProcessDefinitionId("process:1"))
+        .thenReturn(Stream.of(new ProcessInstanceDto()));
+    when(camunda7Service.getProcessData(ArgumentMatchers.<Stream<ProcessInstanceDto>>any()))
+        .thenReturn(Stream.of(processInstance("pi-1"), processInstance("invalid")));
+    BulkMigrationRun run = service.start("process");
+    assertThat(service.getRun(run.getId())).isSameAs(run);
+    for (int i = 0; i < 100 && run.getState() == BulkMigrationRunState.RUNNING; i++) {
+      Thread.sleep(50);
+    }
+    assertThat(run.getState()).isEqualTo(BulkMigrationRunState.COMPLETED);
+    assertThat(run.getCounts())
+        .containsExactly(
+            entry(BulkMigrationState.MIGRATED, 1L), entry(BulkMigrationState.START_FAILED, 1L));
+    assertThat(run.getFailures())
+        .extracting(BulkMigrationOutcome::getCamunda7ProcessInstanceId)
+        .containsExactly("invalid");
+    InOrder inOrder = inOrder(camunda7Service);
+    inOrder.verify(camunda7Service).suspendProcessDefinition("process:1", true);
+    inOrder.verify(camunda7Service).suspendProcessDefinition("process:1", false);
+  }
+
+  @Test
+  void shouldSkipProcessInstancesWithMigrationHints() {
+    Camunda7ProcessInstanceData withTimer = processInstance("pi-2");
+    withTimer.setMigrationHints(List.of("The process instance has running timers"));
+    BulkMigrationResult result =
+        service.migrate("process", Stream.of(processInstance("pi-1"), withTimer));
+    assertThat(result.getOutcomes())
+        .extracting(
+            BulkMigrationOutcome::getCamunda7ProcessInstanceId,
+            BulkMigrationOutcome::getState,
+            BulkMigrationOutcome::getMigrationHints)
+        .containsExactlyInAnyOrder(
+            tuple("pi-1", BulkMigrationState.MIGRATED, null),
+            tuple(
+                "pi-2",
+                BulkMigrationState.SKIPPED,
+                List.of("The process instance has running timers")));
+    verify(camunda8Service, never())
+        .startMigratedProcessInstanceAsync(
+            anyString(),
+            anyList(),
+            argThat(variables -> "pi-2".equals(variables.get("camunda7ProcessInstanceId"))));
+    verify(camunda7Service, never()).cancelProcessInstance(eq("pi-2"), anyLong());
+  }
+
+  @Test
+  void shouldWaitForProcessInstancesInFlightIfStreamFails() throws InterruptedException {
+    ProcessDefinitionDto processDefinition = new ProcessDefinitionDto();
+    processDefinition.setId("process:1");
+    Camunda7ProcessDefinitionData processDefinitionData = new Camunda7ProcessDefinitionData();
+    processDefinitionData.setProcessDefinition(processDefinition);
+    when(camunda7Service.getLatestProcessDefinition("process")).thenReturn(processDefinitionData);
+    when(camunda7Service.getProcessInstancesByProcessDefinitionId("process:1"))
+        .thenReturn(Stream.of(new ProcessInstanceDto()));
+    when(camunda7Service.getProcessData(ArgumentMatchers.<Stream<ProcessInstanceDto>>any()))
+        .thenReturn(
+            Stream.of("pi-1", "pi-2")
+                .map(
+                    id -> {
+                      if (id.equals("pi-2")) {
+                        throw new IllegalStateException("page could not be read");
+                      }
+                      return processInstance(id);
+                    }));
+    BulkMigrationRun run = service.start("process");
+    for (int i = 0; i < 100 && run.getState() == BulkMigrationRunState.RUNNING; i++) {
+      Thread.sleep(50);
+    }
+    assertThat(run.getState()).isEqualTo(BulkMigrationRunState.FAILED);
+    assertThat(run.getCounts()).containsExactly(entry(BulkMigrationState.MIGRATED, 1L));
+    InOrder inOrder = inOrder(camunda7Service);
+    inOrder.verify(camunda7Service).suspendProcessDefinition("process:1", true);
+    inOrder.verify(camunda7Service).cancelProcessInstance("pi-1", 1L);
+    inOrder.verify(camunda7Service).suspendProcessDefinition("process:1", false);
+  }
+
+  @Test
+  void shouldRejectUnknownProcessDefinition() {
+    when(camunda7Service.getLatestProcessDefinition("unknown"))
+        .thenReturn(new Camunda7ProcessDefinitionData());
+    assertThatThrownBy(() -> service.start("unknown")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Camunda7ProcessInstanceData processInstance(String id) {
+    Camunda7ProcessInstanceData data = new Camunda7ProcessInstanceData();
+    data.setProcessInstanceId(id);
+    ActivityData activity = new ActivityData();
+    activity.setId("task");
+    data.setActivities(List.of(activity));
+    data.setProcessVariables(Map.of("var", ProcessVariableData.of(TextNode.valueOf(id), id)));
+    return data;
+  }
+}
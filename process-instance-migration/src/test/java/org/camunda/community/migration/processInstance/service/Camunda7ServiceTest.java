@@ -0,0 +1,198 @@
+package org.camunda.community.migration.processInstance.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.camunda.community.migration.processInstance.client.Camunda7AsyncClient;
+import org.camunda.community.migration.processInstance.client.Camunda7Client;
+import org.camunda.community.migration.processInstance.dto.Camunda7ProcessInstanceData;
+import org.camunda.community.migration.processInstance.dto.client.ActivityInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessDefinitionDto;
+import org.camunda.community.migration.processInstance.dto.client.ProcessInstanceDto;
+import org.camunda.community.migration.processInstance.dto.client.VariableInstanceDto;
+import org.camunda.community.migration.processInstance.dto.rest.JobDto;
+import org.camunda.community.migration.processInstance.properties.Camunda7ClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class Camunda7ServiceTest {
+  private final Camunda7Client client = mock(Camunda7Client.class);
+  private Camunda7Service service;
+
+  @BeforeEach
+  void setup() {
+    Camunda7ClientProperties properties = new Camunda7ClientProperties();
+    properties.setPageSize(2);
+    service = new Camunda7Service(client, Collections.emptySet(), properties);
+    ProcessDefinitionDto processDefinition = new ProcessDefinitionDto();
+    processDefinition.setId("definition");
+    processDefinition.setKey("process");
+    when(client.getProcessDefinition("definition")).thenReturn(processDefinition);
+    when(client.getActivityInstances(anyString()))
+        .thenAnswer(invocation -> activityInstance(invocation.getArgument(0)));
+    when(client.getVariableInstances(anyCollection()))
+        .thenAnswer(invocation -> variables(invocation.getArgument(0)));
+    when(client.getJobs(anyCollection())).thenAnswer(invocation -> jobs(invocation.getArgument(0)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void shouldExtractPage() {
+    Map<String, Camunda7ProcessInstanceData> data =
+        service.getProcessData(List.of(processInstance("1"), processInstance("2")));
+    assertThat(data).containsOnlyKeys("1", "2");
+    Camunda7ProcessInstanceData first = data.get("1");
+    assertThat(first.getProcessDefinitionKey()).isEqualTo("process");
+    assertThat(first.getBusinessKey()).isEqualTo("business-1");
+    assertThat(first.getProcessVariables()).containsOnlyKeys("businessKey", "var");
+    assertThat(first.getProcessVariables().get("var").getValue().asText()).isEqualTo("value-1");
+    assertThat(first.getActivities()).singleElement().extracting("id").isEqualTo("task-1");
+    assertThat(first.getJobData()).singleElement().extracting("id").isEqualTo("job-1");
+    verify(client, times(1)).getVariableInstances(anyCollection());
+    verify(client, times(1)).getJobs(anyCollection());
+    verify(client, times(1)).getProcessDefinition("definition");
+  }
+
+  @Test
+  void shouldExtractStreamPageByPage() {
+    List<Camunda7ProcessInstanceData> data =
+        service
+            .getProcessData(IntStream.range(0, 5).mapToObj(i -> processInstance(String.valueOf(i))))
+            .toList();
+    assertThat(data)
+        .extracting(Camunda7ProcessInstanceData::getProcessInstanceId)
+        .containsExactly("0", "1", "2", "3", "4");
+    verify(client, times(3)).getVariableInstances(anyCollection());
+    verify(client, times(3)).getJobs(anyCollection());
+    verify(client, times(1)).getProcessDefinition("definition");
+  }
+
+  @Test
+  void shouldSkipProcessInstancesThatEndedWhileExtracting() {
+    when(client.getActivityInstances("1"))
+        .thenThrow(
+            HttpClientErrorException.create(HttpStatus.NOT_FOUND, "not found", null, null, null));
+    List<Camunda7ProcessInstanceData> data =
+        service
+            .getProcessData(IntStream.range(0, 5).mapToObj(i -> processInstance(String.valueOf(i))))
+            .toList();
+    assertThat(data)
+        .extracting(Camunda7ProcessInstanceData::getProcessInstanceId)
+        .containsExactly("0", "2", "3", "4");
+  }
+
+  @Test
+  void shouldSuspendJobDefinitionsWithRetry() {
+    AtomicInteger attempts = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              if (attempts.incrementAndGet() == 1) {
+                throw new ResourceAccessException("connection reset");
+              }
+              return null;
+            })
+        .when(client)
+        .suspendJobDefinition("job-definition-1", true);
+    service.suspendJobDefinitions(Set.of("job-definition-1", "job-definition-2"));
+    verify(client, times(2)).suspendJobDefinition("job-definition-1", true);
+    verify(client, times(1)).suspendJobDefinition("job-definition-2", true);
+    assertThat(service.continueJobDefinitions(Set.of("job-definition-1", "job-definition-2")))
+        .isPresent();
+    verify(client, times(1)).suspendJobDefinition("job-definition-1", false);
+    verify(client, times(1)).suspendJobDefinition("job-definition-2", false);
+  }
+
+  @Test
+  void shouldNotRetryClientErrors() {
+    doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "not found", null, null, null))
+        .when(client)
+        .suspendJobDefinition("missing", true);
+    assertThatThrownBy(() -> service.suspendJobDefinitions(Set.of("missing", "job-definition")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("[missing]");
+    verify(client, times(1)).suspendJobDefinition("missing", true);
+    assertThat(service.continueJobDefinitions(Set.of("missing"))).isEmpty();
+    // the job definition that was suspended still reports its window
+    assertThat(service.continueJobDefinitions(Set.of("job-definition"))).isPresent();
+  }
+
+  @Test
+  void shouldUseAsyncClient() {
+    Camunda7Client asyncClient =
+        mock(Camunda7Client.class, withSettings().extraInterfaces(Camunda7AsyncClient.class));
+    when(((Camunda7AsyncClient) asyncClient).suspendJobDefinitionAsync(anyString(), anyBoolean()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    Camunda7Service asyncService =
+        new Camunda7Service(asyncClient, Collections.emptySet(), new Camunda7ClientProperties());
+    try {
+      asyncService.suspendJobDefinitions(Set.of("job-definition"));
+      verify((Camunda7AsyncClient) asyncClient).suspendJobDefinitionAsync("job-definition", true);
+      verify(asyncClient, never()).suspendJobDefinition(anyString(), anyBoolean());
+    } finally {
+      asyncService.shutdown();
+    }
+  }
+
+  private static ProcessInstanceDto processInstance(String id) {
+    ProcessInstanceDto dto = new ProcessInstanceDto();
+    dto.setId(id);
+    dto.setDefinitionId("definition");
+    dto.setBusinessKey("business-" + id);
+    return dto;
+  }
+
+  private static ActivityInstanceDto activityInstance(String processInstanceId) {
+    ActivityInstanceDto task = new ActivityInstanceDto();
+    task.setActivityId("task-" + processInstanceId);
+    task.setActivityType("userTask");
+    ActivityInstanceDto root = new ActivityInstanceDto();
+    root.setActivityId("process");
+    root.setActivityType("processDefinition");
+    root.setChildActivityInstances(List.of(task));
+    return root;
+  }
+
+  private static List<VariableInstanceDto> variables(Collection<String> processInstanceIds) {
+    return processInstanceIds.stream()
+        .map(
+            id -> {
+              VariableInstanceDto dto = new VariableInstanceDto();
+              dto.setName("var");
+              dto.setValue(TextNode.valueOf("value-" + id));
+              dto.setProcessInstanceId(id);
+              dto.setExecutionId(id);
+              return dto;
+            })
+        .toList();
+  }
+
+  private static List<JobDto> jobs(Collection<String> processInstanceIds) {
+    return processInstanceIds.stream()
+        .map(
+            id -> {
+              JobDto dto = new JobDto();
+              dto.setId("job-" + id);
+              dto.setProcessInstanceId(id);
+              return dto;
+            })
+        .toList();
+  }
+}
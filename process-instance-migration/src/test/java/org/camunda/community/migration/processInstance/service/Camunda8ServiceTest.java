@@ -0,0 +1,69 @@
+package org.camunda.community.migration.processInstance.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.camunda.operate.CamundaOperateClient;
+import io.camunda.operate.model.ProcessDefinition;
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.model.bpmn.Bpmn;
+import io.camunda.zeebe.model.bpmn.instance.Process;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.camunda.community.migration.processInstance.dto.Camunda8ProcessDefinitionData;
+import org.camunda.community.migration.processInstance.service.ProcessDefinitionMigrationHintRule.ProcessDefinitionMigrationHintRuleImpl;
+import org.junit.jupiter.api.Test;
+
+public class Camunda8ServiceTest {
+  private final CamundaOperateClient operateClient = mock(CamundaOperateClient.class);
+  private final Camunda8Service service =
+      new Camunda8Service(mock(ZeebeClient.class), operateClient, 2);
+
+  private void deploy(long key) throws Exception {
+    ProcessDefinition processDefinition = new ProcessDefinition();
+    processDefinition.setKey(key);
+    when(operateClient.getProcessDefinition(key)).thenReturn(processDefinition);
+    when(operateClient.getProcessDefinitionXml(key))
+        .thenReturn(
+            Bpmn.convertToString(
+                Bpmn.createExecutableProcess("process-" + key).startEvent().done()));
+  }
+
+  @Test
+  void shouldCacheProcessDefinitionData() throws Exception {
+    deploy(1);
+    deploy(2);
+    deploy(3);
+    Camunda8ProcessDefinitionData data = service.getProcessDefinitionData(1L);
+    Process process = data.getBpmnModelInstance().getModelElementById("process-1");
+    assertThat(process.isExecutable()).isTrue();
+    assertThat(service.getProcessDefinitionData(1L)).isSameAs(data);
+    service.getProcessDefinitionData(2L);
+    service.getProcessDefinitionData(3L);
+    verify(operateClient, times(1)).getProcessDefinitionXml(1L);
+    // the least recently used definition has been evicted
+    assertThat(service.getProcessDefinitionData(1L)).isNotSameAs(data);
+    verify(operateClient, times(2)).getProcessDefinitionXml(1L);
+  }
+
+  @Test
+  void shouldMemoiseMigrationHints() throws Exception {
+    deploy(1);
+    AtomicInteger evaluations = new AtomicInteger();
+    ProcessDefinitionMigrationHintService hintService =
+        new ProcessDefinitionMigrationHintService(
+            Set.of(
+                data -> {
+                  evaluations.incrementAndGet();
+                  return Optional.of("hint");
+                },
+                new ProcessDefinitionMigrationHintRuleImpl("never", data -> false)),
+            10);
+    Camunda8ProcessDefinitionData data = service.getProcessDefinitionData(1L);
+    assertThat(hintService.getMigrationHints(data)).isEqualTo(List.of("hint"));
+    assertThat(hintService.getMigrationHints(data)).isEqualTo(List.of("hint"));
+    assertThat(evaluations).hasValue(1);
+  }
+}
@@ -0,0 +1,202 @@
+package org.camunda.community.migration.processInstance.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.camunda.community.migration.processInstance.dto.task.UserTask;
+import org.camunda.community.migration.processInstance.dto.task.UserTask.TaskState;
+import org.camunda.community.migration.processInstance.variables.ProcessInstanceMigrationVariables;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MigrationTaskServiceTest {
+  private final Camunda8Service camunda8Service = mock(Camunda8Service.class);
+  private final ProcessInstanceIdStore processInstanceIdStore = mock(ProcessInstanceIdStore.class);
+  private final List<MigrationTaskService> services = new ArrayList<>();
+
+  @BeforeEach
+  void setup() {
+    when(camunda8Service.renewTask(anyLong(), any()))
+        .thenAnswer(
+            invocation -> CompletableFuture.failedFuture(Status.UNAVAILABLE.asRuntimeException()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    services.forEach(MigrationTaskService::shutdown);
+  }
+
+  private MigrationTaskService service(Duration timeout) {
+    MigrationTaskService service =
+        new MigrationTaskService(camunda8Service, processInstanceIdStore, timeout);
+    services.add(service);
+    return service;
+  }
+
+  private static UserTask task(long key, long processInstanceKey) {
+    return new UserTask(key, "Task " + key, processInstanceKey, "form", null, TaskState.CREATED);
+  }
+
+  @Test
+  void shouldIndexTasks() {
+    MigrationTaskService service = service(Duration.ofMinutes(1));
+    service.addTask(task(1, 10));
+    service.addTask(task(2, 10));
+    service.addTask(task(3, 20));
+    service.complete(2, new ProcessInstanceMigrationVariables());
+    assertThat(service.getTasks(false)).extracting(UserTask::getKey).containsOnly(1L, 3L);
+    assertThat(service.getTasks(true)).extracting(UserTask::getKey).containsOnly(1L, 2L, 3L);
+    assertThat(service.getTasksByProcessInstanceKey(10))
+        .extracting(UserTask::getKey, UserTask::getState)
+        .containsOnly(tuple(1L, TaskState.CREATED), tuple(2L, TaskState.COMPLETED));
+    verify(camunda8Service).completeTask(eq(2L), any());
+  }
+
+  @Test
+  void shouldNotReopenCompletedTask() {
+    MigrationTaskService service = service(Duration.ofMinutes(1));
+    service.addTask(task(1, 10));
+    service.complete(1, new ProcessInstanceMigrationVariables());
+    service.addTask(task(1, 10));
+    assertThat(service.getTask(1).getState()).isEqualTo(TaskState.COMPLETED);
+    service.complete(1, new ProcessInstanceMigrationVariables());
+    verify(camunda8Service, times(1)).completeTask(eq(1L), any());
+  }
+
+  @Test
+  void shouldCompleteTaskOnlyOnceWhenCompletedConcurrently() throws Exception {
+    MigrationTaskService service = service(Duration.ofMinutes(1));
+    service.addTask(task(1, 10));
+    CountDownLatch completing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              completing.countDown();
+              release.await();
+              return null;
+            })
+        .when(camunda8Service)
+        .completeTask(eq(1L), any());
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<UserTask> first =
+        executor.submit(() -> service.complete(1, new ProcessInstanceMigrationVariables()));
+    assertThat(completing.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(service.complete(1, new ProcessInstanceMigrationVariables()).getState())
+        .isEqualTo(TaskState.COMPLETING);
+    release.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS).getState()).isEqualTo(TaskState.COMPLETED);
+    executor.shutdown();
+    verify(camunda8Service, times(1)).completeTask(eq(1L), any());
+  }
+
+  @Test
+  void shouldReopenTaskIfCompletionFails() {
+    MigrationTaskService service = service(Duration.ofMinutes(1));
+    service.addTask(task(1, 10));
+    doThrow(new IllegalStateException("unavailable"))
+        .doNothing()
+        .when(camunda8Service)
+        .completeTask(eq(1L), any());
+    assertThatThrownBy(() -> service.complete(1, new ProcessInstanceMigrationVariables()))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(service.getTask(1).getState()).isEqualTo(TaskState.CREATED);
+    assertThat(service.complete(1, new ProcessInstanceMigrationVariables()).getState())
+        .isEqualTo(TaskState.COMPLETED);
+  }
+
+  @Test
+  void shouldExpireTasksThatAreNotRefreshed() throws InterruptedException {
+    MigrationTaskService service = service(Duration.ofMillis(200));
+    service.addTask(task(1, 10));
+    service.addTask(task(2, 10));
+    Thread.sleep(120);
+    service.addTask(task(2, 10));
+    Thread.sleep(120);
+    assertThat(service.getTasks(true)).extracting(UserTask::getKey).containsOnly(2L);
+    assertThat(service.getTasksByProcessInstanceKey(10))
+        .extracting(UserTask::getKey)
+        .containsOnly(2L);
+    assertThatThrownBy(() -> service.complete(1, new ProcessInstanceMigrationVariables()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldHandleConcurrentAccess() throws InterruptedException {
+    MigrationTaskService service = service(Duration.ofMinutes(1));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    IntStream.range(0, 1000)
+        .forEach(
+            i ->
+                executor.execute(
+                    () -> {
+                      service.addTask(task(i, i % 10));
+                      if (i % 2 == 0) {
+                        service.complete(i, new ProcessInstanceMigrationVariables());
+                      }
+                      service.getTasks(false);
+                    }));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    List<UserTask> open = service.getTasks(false);
+    assertThat(open).hasSize(500).allMatch(task -> task.getKey() % 2 == 1);
+    assertThat(service.getTasksByProcessInstanceKey(3)).hasSize(100);
+  }
+
+  @Test
+  void shouldRenewOpenTasks() throws InterruptedException {
+    when(camunda8Service.renewTask(eq(1L), any()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+    when(camunda8Service.renewTask(eq(2L), any()))
+        .thenAnswer(
+            invocation -> CompletableFuture.failedFuture(Status.NOT_FOUND.asRuntimeException()));
+    MigrationTaskService service = service(Duration.ofMinutes(1));
+    service.addTask(task(1, 10));
+    service.addTask(task(2, 10));
+    service.addTask(task(3, 10));
+    service.complete(3, new ProcessInstanceMigrationVariables());
+    service.renew();
+    verify(camunda8Service, never()).renewTask(anyLong(), any());
+    service.shutdown();
+
+    service = service(Duration.ofMillis(400));
+    service.addTask(task(1, 10));
+    service.addTask(task(2, 10));
+    Thread.sleep(700);
+    assertThat(service.getTasks(true)).extracting(UserTask::getKey).containsOnly(1L);
+    verify(camunda8Service, atLeast(2)).renewTask(1L, Duration.ofMillis(400));
+  }
+
+  @Test
+  void shouldNotifyListenersAboutChanges() throws InterruptedException {
+    MigrationTaskService service = service(Duration.ofMillis(200));
+    List<UserTask> events = new CopyOnWriteArrayList<>();
+    service.addListener(events::add);
+    service.addTask(task(1, 10));
+    service.addTask(task(1, 10));
+    service.addTask(task(2, 10));
+    service.complete(1, new ProcessInstanceMigrationVariables());
+    Thread.sleep(300);
+    service.getTasks(true);
+    assertThat(events)
+        .extracting(UserTask::getKey, UserTask::getState)
+        .containsExactly(
+            tuple(1L, TaskState.CREATED),
+            tuple(2L, TaskState.CREATED),
+            tuple(1L, TaskState.COMPLETED),
+            tuple(2L, TaskState.CANCELED));
+  }
+}
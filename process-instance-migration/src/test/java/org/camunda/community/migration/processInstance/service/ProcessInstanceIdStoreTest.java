@@ -0,0 +1,87 @@
+package org.camunda.community.migration.processInstance.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.camunda.community.migration.processInstance.service.ProcessInstanceIdStore.ProcessInstanceIdBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProcessInstanceIdStoreTest {
+  @TempDir Path directory;
+
+  @Test
+  void shouldStoreIdsInChunks() {
+    ProcessInstanceIdStore store = new ProcessInstanceIdStore(directory, 2, Duration.ofDays(1));
+    ProcessInstanceIdBatch batch = store.store(IntStream.range(0, 5).mapToObj(i -> "pi-" + i));
+    assertThat(batch.chunkCount()).isEqualTo(3);
+    assertThat(batch.chunks()).containsExactly(0, 1, 2);
+    assertThat(store.getChunk(batch.batchId(), 0)).containsExactly("pi-0", "pi-1");
+    assertThat(store.getChunk(batch.batchId(), 2)).containsExactly("pi-4");
+    store.delete(batch.batchId());
+    assertThat(directory.resolve(batch.batchId())).doesNotExist();
+  }
+
+  @Test
+  void shouldStoreEmptyBatch() {
+    ProcessInstanceIdStore store = new ProcessInstanceIdStore(directory, 2, Duration.ofDays(1));
+    ProcessInstanceIdBatch batch = store.store(Stream.empty());
+    assertThat(batch.chunks()).isEmpty();
+    assertThat(directory.resolve(batch.batchId())).doesNotExist();
+  }
+
+  @Test
+  void shouldDeleteBatchWithLastReleasedChunk() {
+    ProcessInstanceIdStore store = new ProcessInstanceIdStore(directory, 2, Duration.ofDays(1));
+    ProcessInstanceIdBatch batch = store.store(IntStream.range(0, 3).mapToObj(i -> "pi-" + i));
+    store.releaseChunk(batch.batchId(), 0);
+    assertThat(directory.resolve(batch.batchId()).resolve("0")).doesNotExist();
+    assertThat(store.getChunk(batch.batchId(), 1)).containsExactly("pi-2");
+    store.releaseChunk(batch.batchId(), 1);
+    assertThat(directory.resolve(batch.batchId())).doesNotExist();
+    // a retried release does not fail
+    store.releaseChunk(batch.batchId(), 1);
+  }
+
+  @Test
+  void shouldDeleteExpiredBatches() throws Exception {
+    ProcessInstanceIdStore store = new ProcessInstanceIdStore(directory, 2, Duration.ofDays(1));
+    ProcessInstanceIdBatch expired = store.store(Stream.of("pi-0"));
+    Files.setLastModifiedTime(
+        directory.resolve(expired.batchId()),
+        FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    ProcessInstanceIdBatch current = store.store(Stream.of("pi-1"));
+    assertThat(directory.resolve(expired.batchId())).doesNotExist();
+    assertThat(store.getChunk(current.batchId(), 0)).isEqualTo(List.of("pi-1"));
+  }
+
+  @Test
+  void shouldNotDeleteBatchesInUse() throws Exception {
+    ProcessInstanceIdStore store = new ProcessInstanceIdStore(directory, 1, Duration.ofDays(1));
+    ProcessInstanceIdBatch inUse = store.store(Stream.of("pi-0", "pi-1", "pi-2"));
+    Files.setLastModifiedTime(
+        directory.resolve(inUse.batchId()), FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    assertThat(store.getChunk(inUse.batchId(), 0)).isEqualTo(List.of("pi-0"));
+    store.store(Stream.of("pi-3"));
+    assertThat(store.getChunk(inUse.batchId(), 1)).isEqualTo(List.of("pi-1"));
+    Files.setLastModifiedTime(
+        directory.resolve(inUse.batchId()), FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    store.releaseChunk(inUse.batchId(), 0);
+    store.store(Stream.of("pi-4"));
+    assertThat(store.getChunk(inUse.batchId(), 2)).isEqualTo(List.of("pi-2"));
+  }
+
+  @Test
+  void shouldRejectBatchIdsOutsideOfStore() {
+    ProcessInstanceIdStore store = new ProcessInstanceIdStore(directory, 2, Duration.ofDays(1));
+    assertThatThrownBy(() -> store.getChunk("../other", 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}